@@ -0,0 +1,102 @@
+package com.healthcare.medVault.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.medVault.dto.MedicalHistoryItemDTO;
+import com.healthcare.medVault.helper.HealthRecordSection;
+import com.healthcare.medVault.service.HealthRecordConditions;
+import com.healthcare.medVault.service.HealthRecordSectionCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Brings patient_health_records up to the JSON layout that Hibernate's schema update cannot
+ * migrate on its own: converts legacy TEXT section columns to native JSON, creates the
+ * multi-valued index on active_conditions and backfills that column for existing rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HealthRecordSchemaInitializer {
+
+    private static final String TABLE = "patient_health_records";
+    private static final String ACTIVE_CONDITIONS_INDEX = "idx_phr_active_conditions";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final HealthRecordSectionCodec sectionCodec;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            for (HealthRecordSection section : HealthRecordSection.values()) {
+                convertToJson(section.getColumn());
+            }
+            convertToJson("active_conditions");
+            createActiveConditionsIndex();
+            backfillActiveConditions();
+        } catch (Exception e) {
+            log.warn("Health record schema migration skipped: {}", e.getMessage());
+        }
+    }
+
+    private void convertToJson(String column) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+                String.class, TABLE, column);
+        if (types.isEmpty() || "json".equalsIgnoreCase(types.get(0))) {
+            return;
+        }
+
+        // Empty strings are not valid JSON and would abort the conversion
+        jdbcTemplate.update("UPDATE " + TABLE + " SET " + column + " = NULL WHERE " + column + " = ''");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY COLUMN " + column + " JSON");
+        log.info("Converted {}.{} to JSON", TABLE, column);
+    }
+
+    private void createActiveConditionsIndex() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?",
+                Integer.class, TABLE, ACTIVE_CONDITIONS_INDEX);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE INDEX " + ACTIVE_CONDITIONS_INDEX + " ON " + TABLE +
+                " ((CAST(active_conditions AS CHAR(128) ARRAY)))");
+        log.info("Created multi-valued index {}", ACTIVE_CONDITIONS_INDEX);
+    }
+
+    private void backfillActiveConditions() {
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT id, medical_history FROM " + TABLE +
+                        " WHERE active_conditions IS NULL AND medical_history IS NOT NULL",
+                rs -> {
+                    try {
+                        List<MedicalHistoryItemDTO> history = sectionCodec.read(
+                                HealthRecordSection.MEDICAL_HISTORY, rs.getString("medical_history"));
+                        updates.add(new Object[]{
+                                objectMapper.writeValueAsString(HealthRecordConditions.activeConditions(history)),
+                                rs.getLong("id")});
+                    } catch (Exception e) {
+                        log.warn("Skipping active conditions backfill for health record {}: {}",
+                                rs.getLong("id"), e.getMessage());
+                    }
+                });
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE " + TABLE + " SET active_conditions = ? WHERE id = ?", updates);
+        log.info("Backfilled active conditions for {} health records", updates.size());
+    }
+}
@@ -0,0 +1,19 @@
+package com.healthcare.medVault.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers Blackbird on the application ObjectMapper. It replaces reflective getter, setter and
+ * constructor calls in bean (de)serializers with generated lambdas, which is most of the cost of
+ * binding the health record sections. Spring Boot adds every Module bean to the mapper it builds.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,154 @@
+package com.healthcare.medVault.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+
+/**
+ * Outbound HTTP clients for the Python ML services. Both upstreams share one Reactor Netty
+ * connection pool with keep-alive, with a connection cap per remote host so a slow summary
+ * backlog cannot starve specialization predictions. Each client has its own response timeout,
+ * retries connection-level failures with jittered backoff, and records an
+ * ml.client.requests timer (with percentile histogram) tagged by upstream.
+ */
+@Configuration
+public class OutboundHttpConfig {
+
+    public static final String SUMMARY_UPSTREAM = "summary";
+    public static final String MODEL_UPSTREAM = "model";
+
+    @Value("${summary.base-url:http://127.0.0.1:8001}")
+    private String summaryBaseUrl;
+
+    @Value("${model.base-url:http://127.0.0.1:8002}")
+    private String modelBaseUrl;
+
+    @Value("${ml.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${ml.http.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${ml.http.pending-acquire-timeout:10s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${ml.http.max-retries:2}")
+    private int maxRetries;
+
+    @Value("${ml.http.retry-backoff:200ms}")
+    private Duration retryBackoff;
+
+    @Value("${summary.http.max-connections:16}")
+    private int summaryMaxConnections;
+
+    @Value("${summary.http.response-timeout:120s}")
+    private Duration summaryResponseTimeout;
+
+    @Value("${model.http.max-connections:32}")
+    private int modelMaxConnections;
+
+    @Value("${model.http.response-timeout:10s}")
+    private Duration modelResponseTimeout;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider mlConnectionProvider() {
+        return ConnectionProvider.builder("ml-upstreams")
+                .maxConnections(Math.max(summaryMaxConnections, modelMaxConnections))
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .forRemoteHost(remoteAddress(summaryBaseUrl), spec -> spec.maxConnections(summaryMaxConnections))
+                .forRemoteHost(remoteAddress(modelBaseUrl), spec -> spec.maxConnections(modelMaxConnections))
+                .build();
+    }
+
+    @Bean
+    public WebClient summaryWebClient(WebClient.Builder webClientBuilder, ConnectionProvider mlConnectionProvider,
+                                      MeterRegistry meterRegistry) {
+        return upstreamClient(webClientBuilder, mlConnectionProvider, meterRegistry,
+                SUMMARY_UPSTREAM, summaryBaseUrl, summaryResponseTimeout);
+    }
+
+    @Bean
+    public WebClient modelWebClient(WebClient.Builder webClientBuilder, ConnectionProvider mlConnectionProvider,
+                                    MeterRegistry meterRegistry) {
+        return upstreamClient(webClientBuilder, mlConnectionProvider, meterRegistry,
+                MODEL_UPSTREAM, modelBaseUrl, modelResponseTimeout);
+    }
+
+    private WebClient upstreamClient(WebClient.Builder webClientBuilder, ConnectionProvider connectionProvider,
+                                     MeterRegistry meterRegistry, String upstream, String baseUrl,
+                                     Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout);
+
+        // Filters run in registration order: retries wrap the timer, so each attempt is timed separately
+        return webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(retryConnectionFailures())
+                .filter(recordLatency(meterRegistry, upstream))
+                .build();
+    }
+
+    // Retries connect and reset failures only; a response timeout means the upstream may still be working.
+    // Request bodies are re-read on each attempt.
+    private ExchangeFilterFunction retryConnectionFailures() {
+        return (request, next) -> next.exchange(request)
+                .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                        .jitter(0.5)
+                        .filter(ex -> ex instanceof WebClientRequestException
+                                && !(ex.getCause() instanceof TimeoutException))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    // Measured until response headers arrive; both ML services send their body in one piece after that
+    private ExchangeFilterFunction recordLatency(MeterRegistry meterRegistry, String upstream) {
+        return (request, next) -> Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return next.exchange(request)
+                    .doOnSuccess(response -> sample.stop(upstreamTimer(meterRegistry, upstream, request,
+                            String.valueOf(response.statusCode().value()))))
+                    .doOnError(ex -> sample.stop(upstreamTimer(meterRegistry, upstream, request, "IO_ERROR")));
+        });
+    }
+
+    private Timer upstreamTimer(MeterRegistry meterRegistry, String upstream, ClientRequest request, String status) {
+        return Timer.builder("ml.client.requests")
+                .description("Latency of calls to the ML services")
+                .tag("upstream", upstream)
+                .tag("method", request.method().name())
+                .tag("uri", request.url().getPath())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static SocketAddress remoteAddress(String baseUrl) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(baseUrl).build();
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+        return InetSocketAddress.createUnresolved(uri.getHost(), port);
+    }
+}
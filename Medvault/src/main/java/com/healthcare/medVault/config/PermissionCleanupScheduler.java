@@ -1,5 +1,6 @@
 package com.healthcare.medVault.config;
 
+import com.healthcare.medVault.service.DoctorRecordViewStore;
 import com.healthcare.medVault.service.DocumentPermissionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -10,9 +11,17 @@ import org.springframework.stereotype.Component;
 public class PermissionCleanupScheduler {
 
     private final DocumentPermissionService permissionService;
+    private final DoctorRecordViewStore recordViews;
 
+    // Backstop for grants PermissionExpiryQueue missed; exact-time expiry happens there
     @Scheduled(fixedRate = 3600000) // Run every hour
     public void cleanupExpiredPermissions() {
         permissionService.cleanupExpiredPermissions();
     }
-}
\ No newline at end of file
+
+    // Record views are built on approval; once the appointment is over they are deleted
+    @Scheduled(fixedRate = 3600000) // Run every hour
+    public void pruneEndedRecordViews() {
+        recordViews.pruneEnded();
+    }
+}
@@ -38,6 +38,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/reviews/**").permitAll()
                         .requestMatchers("/api/emergency/**").permitAll()
                         .requestMatchers("/api/health-records/**").permitAll()
+                        .requestMatchers("/api/vitals/**").permitAll()
                         .requestMatchers("/api/health-documents/**").permitAll()
                         .requestMatchers("/api/document-permissions/**").permitAll()
                         .requestMatchers("/api/medical-records/**").permitAll()
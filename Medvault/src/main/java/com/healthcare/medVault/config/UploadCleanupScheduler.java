@@ -0,0 +1,19 @@
+package com.healthcare.medVault.config;
+
+import com.healthcare.medVault.service.ChunkedUploadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UploadCleanupScheduler {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    // Frees the temp files and chunk rows of upload sessions that expired without completing
+    @Scheduled(fixedRate = 3600000) // Run every hour
+    public void cleanupExpiredUploads() {
+        chunkedUploadService.cleanupExpiredSessions();
+    }
+}
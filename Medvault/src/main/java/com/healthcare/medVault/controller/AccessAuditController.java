@@ -0,0 +1,29 @@
+package com.healthcare.medVault.controller;
+
+import com.healthcare.medVault.dto.AccessAuditEntryDTO;
+import com.healthcare.medVault.service.AccessAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/access-log")
+@RequiredArgsConstructor
+public class AccessAuditController {
+
+    private final AccessAuditService accessAuditService;
+
+    @GetMapping
+    public ResponseEntity<List<AccessAuditEntryDTO>> searchAccessLog(
+            @RequestParam(required = false) String patientId,
+            @RequestParam(required = false) String actor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(accessAuditService.searchAccessLog(patientId, actor, from, to, limit));
+    }
+}
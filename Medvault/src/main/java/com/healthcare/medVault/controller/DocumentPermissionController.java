@@ -38,6 +38,17 @@ public class DocumentPermissionController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/request/batch")
+    public ResponseEntity<List<DocumentPermissionRequestDTO>> requestDocumentPermissions(
+            @RequestBody DocumentPermissionBatchRequestDTO request) {
+        List<DocumentPermissionRequestDTO> response = permissionService.requestDocumentPermissions(
+                request.getAppointmentId(),
+                request.getDocumentIds(),
+                request.getRequestMessage()
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{permissionRequestId}/respond")
     public ResponseEntity<DocumentPermissionRequestDTO> respondToPermissionRequest(
             @PathVariable String permissionRequestId,
@@ -46,6 +57,21 @@ public class DocumentPermissionController {
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/appointment/{appointmentId}/respond")
+    public ResponseEntity<List<DocumentPermissionRequestDTO>> respondToPermissionRequests(
+            @PathVariable String appointmentId,
+            @RequestBody DocumentPermissionBatchResponseDTO response) {
+        List<DocumentPermissionRequestDTO> result = permissionService.respondToPermissionRequests(appointmentId, response);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/appointment/{appointmentId}/approve-all")
+    public ResponseEntity<List<DocumentPermissionRequestDTO>> approveAllPendingRequests(
+            @PathVariable String appointmentId) {
+        List<DocumentPermissionRequestDTO> result = permissionService.approveAllPendingRequests(appointmentId);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/patient/{patientId}/requests")
     public ResponseEntity<List<DocumentPermissionRequestDTO>> getPatientPermissionRequests(
             @PathVariable String patientId) {
@@ -74,6 +100,14 @@ public class DocumentPermissionController {
         return ResponseEntity.ok(access);
     }
 
+    @PostMapping("/check-access/{appointmentId}")
+    public ResponseEntity<List<DoctorDocumentAccessDTO>> checkDocumentAccess(
+            @PathVariable String appointmentId,
+            @RequestBody List<String> documentIds) {
+        List<DoctorDocumentAccessDTO> access = permissionService.checkDocumentAccess(appointmentId, documentIds);
+        return ResponseEntity.ok(access);
+    }
+
 
     @GetMapping("/documents/{documentId}")
     public ResponseEntity<ByteArrayResource> getDocumentById(@PathVariable Long documentId) {
@@ -0,0 +1,58 @@
+package com.healthcare.medVault.controller;
+
+import com.healthcare.medVault.dto.HealthDocumentDTO;
+import com.healthcare.medVault.dto.UploadSessionDTO;
+import com.healthcare.medVault.dto.UploadSessionRequestDTO;
+import com.healthcare.medVault.service.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+// Resumable uploads: create a session, PUT chunks in any order (retrying failed ones), then commit.
+@RestController
+@RequestMapping("/api/health-documents")
+@RequiredArgsConstructor
+public class DocumentUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @PostMapping("/{patientId}/uploads")
+    public ResponseEntity<UploadSessionDTO> createUploadSession(
+            @PathVariable String patientId,
+            @RequestBody UploadSessionRequestDTO request) {
+        UploadSessionDTO session = chunkedUploadService.createSession(patientId, request);
+        return ResponseEntity.ok(session);
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionDTO> getUploadSession(@PathVariable String uploadId) {
+        UploadSessionDTO session = chunkedUploadService.getSession(uploadId);
+        return ResponseEntity.ok(session);
+    }
+
+    @PutMapping("/uploads/{uploadId}/chunks/{chunkIndex}")
+    public ResponseEntity<UploadSessionDTO> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable int chunkIndex,
+            @RequestHeader(value = "Upload-Checksum", required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+        // Read the raw body so the chunk is never buffered as a multipart part
+        UploadSessionDTO session = chunkedUploadService.writeChunk(uploadId, chunkIndex, checksum, request.getInputStream());
+        return ResponseEntity.ok(session);
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<HealthDocumentDTO> completeUpload(@PathVariable String uploadId) {
+        HealthDocumentDTO document = chunkedUploadService.completeSession(uploadId);
+        return ResponseEntity.ok(document);
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String uploadId) {
+        chunkedUploadService.abortSession(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
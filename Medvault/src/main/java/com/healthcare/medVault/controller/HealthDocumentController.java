@@ -2,15 +2,22 @@
 package com.healthcare.medVault.controller;
 
 import com.healthcare.medVault.dto.HealthDocumentDTO;
+import com.healthcare.medVault.dto.HealthDocumentListItem;
+import com.healthcare.medVault.dto.KeysetPageDTO;
+import com.healthcare.medVault.dto.StoredDocumentContent;
 import com.healthcare.medVault.helper.DocumentType;
+import com.healthcare.medVault.service.DocumentExportService;
 import com.healthcare.medVault.service.HealthDocumentService;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,9 +25,12 @@ import java.util.List;
 public class HealthDocumentController {
 
     private final HealthDocumentService healthDocumentService;
+    private final DocumentExportService documentExportService;
 
-    public HealthDocumentController(HealthDocumentService healthDocumentService) {
+    public HealthDocumentController(HealthDocumentService healthDocumentService,
+                                    DocumentExportService documentExportService) {
         this.healthDocumentService = healthDocumentService;
+        this.documentExportService = documentExportService;
     }
 
     @PostMapping("/{patientId}/upload")
@@ -42,6 +52,32 @@ public class HealthDocumentController {
         return ResponseEntity.ok(documents);
     }
 
+    @GetMapping("/{patientId}/page")
+    public ResponseEntity<KeysetPageDTO<HealthDocumentListItem>> getDocumentPage(
+            @PathVariable String patientId,
+            @RequestParam(value = "type", required = false) DocumentType type,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        KeysetPageDTO<HealthDocumentListItem> page = healthDocumentService.getDocumentPage(
+                patientId, type, from, to, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    // Doctors pass their appointmentId and only receive documents the patient approved for it
+    @GetMapping("/{patientId}/export")
+    public ResponseEntity<StreamingResponseBody> exportDocuments(
+            @PathVariable String patientId,
+            @RequestParam(value = "appointmentId", required = false) String appointmentId) {
+        StreamingResponseBody archive = documentExportService.exportPatientDocuments(patientId, appointmentId);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"patient-" + patientId + "-documents.zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(archive);
+    }
+
     @GetMapping("/{patientId}/{id}")
     public ResponseEntity<HealthDocumentDTO> getDocumentById(
             @PathVariable String patientId,
@@ -60,14 +96,21 @@ public class HealthDocumentController {
     }
 
     @GetMapping("/download/{fileName:.+}")
-    public ResponseEntity<ByteArrayResource> downloadFile(@PathVariable String fileName) {
-        byte[] fileContent = healthDocumentService.downloadDocument(fileName);
+    public ResponseEntity<Resource> downloadFile(
+            @PathVariable String fileName,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        StoredDocumentContent content = healthDocumentService.openDocument(fileName, acceptEncoding);
 
-        ByteArrayResource resource = new ByteArrayResource(fileContent);
-
-        return ResponseEntity.ok()
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(resource);
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM);
+        if (content.getContentEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, content.getContentEncoding());
+        }
+        if (content.getContentLength() >= 0) {
+            response.contentLength(content.getContentLength());
+        }
+        return response.body(content.getResource());
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,20 @@
 // HealthRecordController.java
 package com.healthcare.medVault.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.healthcare.medVault.dto.*;
+import com.healthcare.medVault.helper.BloodGroup;
+import com.healthcare.medVault.service.AccessAuditService;
 import com.healthcare.medVault.service.PatientHealthRecordService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -14,8 +22,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class HealthRecordController {
 
+    private static final String JSON_PATCH = "application/json-patch+json";
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
     private final PatientHealthRecordService healthRecordService;
 
+    private final AccessAuditService accessAuditService;
+
     @GetMapping("/{patientId}")
     public ResponseEntity<PatientHealthRecordDTO> getHealthRecord(@PathVariable String patientId) {
         return healthRecordService.getHealthRecord(patientId)
@@ -30,13 +43,53 @@ public class HealthRecordController {
         return ResponseEntity.ok(createdRecord);
     }
 
-    @PatchMapping("/{patientId}/section/{section}")
-    public ResponseEntity<PatientHealthRecordDTO> updateHealthRecordSection(
+    @GetMapping(value = "/{patientId}/section/{section}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getHealthRecordSection(
+            @PathVariable String patientId,
+            @PathVariable String section) {
+        return healthRecordService.getHealthRecordSection(patientId, section)
+                .map(this::sectionResponse)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<String>> searchPatients(
+            @RequestParam(required = false) String activeCondition,
+            @RequestParam(required = false) BloodGroup bloodGroup,
+            @RequestParam(required = false) BigDecimal minBmi,
+            @RequestParam(required = false) BigDecimal maxBmi,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(healthRecordService.searchPatients(
+                activeCondition, bloodGroup, minBmi, maxBmi, limit));
+    }
+
+    @PatchMapping(value = "/{patientId}/section/{section}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> updateHealthRecordSection(
             @PathVariable String patientId,
             @PathVariable String section,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Object data) {
-        PatientHealthRecordDTO updatedRecord = healthRecordService.updateHealthRecordSection(patientId, section, data);
-        return ResponseEntity.ok(updatedRecord);
+        return sectionResponse(healthRecordService.updateSection(patientId, section, data, ifMatch));
+    }
+
+    @PatchMapping(value = "/{patientId}/section/{section}", consumes = JSON_PATCH,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jsonPatchHealthRecordSection(
+            @PathVariable String patientId,
+            @PathVariable String section,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        return sectionResponse(healthRecordService.applyJsonPatch(patientId, section, patch, ifMatch));
+    }
+
+    @PatchMapping(value = "/{patientId}/section/{section}", consumes = MERGE_PATCH,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> mergePatchHealthRecordSection(
+            @PathVariable String patientId,
+            @PathVariable String section,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        return sectionResponse(healthRecordService.applyMergePatch(patientId, section, patch, ifMatch));
     }
 
     @PatchMapping("/{patientId}/demographics")
@@ -88,22 +141,32 @@ public class HealthRecordController {
     public ResponseEntity<PatientHealthRecordDTO> bulkUpdateHealthRecord(
             @PathVariable String patientId,
             @RequestBody List<HealthRecordUpdateRequestDTO> updates) {
-        // Implement bulk update logic
-        // For simplicity, we'll process each update sequentially
-        PatientHealthRecordDTO result = null;
-        for (HealthRecordUpdateRequestDTO update : updates) {
-            result = healthRecordService.updateHealthRecordSection(
-                    patientId, update.getSection(), update.getData());
-        }
+        PatientHealthRecordDTO result = healthRecordService.bulkUpdateHealthRecord(patientId, updates);
         return ResponseEntity.ok(result);
     }
 
+    // Who read this patient's record and documents
+    @GetMapping("/{patientId}/access-log")
+    public ResponseEntity<List<AccessAuditEntryDTO>> getAccessLog(
+            @PathVariable String patientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(accessAuditService.getPatientAccessLog(patientId, from, to, limit));
+    }
+
     @GetMapping("/{patientId}/summary")
     public ResponseEntity<HealthRecordSummaryDTO> getHealthRecordSummary(@PathVariable String patientId) {
         HealthRecordSummaryDTO summary = healthRecordService.getHealthRecordSummary(patientId);
         return ResponseEntity.ok(summary);
     }
 
+    private ResponseEntity<String> sectionResponse(HealthRecordSectionValue value) {
+        return ResponseEntity.ok()
+                .eTag(value.eTag())
+                .body(value.json());
+    }
+
     @DeleteMapping("/{patientId}")
     public ResponseEntity<Void> deleteHealthRecord(@PathVariable String patientId) {
         healthRecordService.deleteHealthRecord(patientId);
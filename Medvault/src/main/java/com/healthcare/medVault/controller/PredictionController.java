@@ -1,10 +1,16 @@
 package com.healthcare.medVault.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.medVault.dto.AiJobDTO;
+import com.healthcare.medVault.service.AiJobService;
+import com.healthcare.medVault.service.ModelServiceClient;
+import com.healthcare.medVault.service.PredictionBatcher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
@@ -13,23 +19,49 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PredictionController {
 
-    @Value("${model.base-url:http://127.0.0.1:8002}")
-    private String modelBaseUrl;
-
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final ModelServiceClient modelServiceClient;
+    private final PredictionBatcher predictionBatcher;
+    private final AiJobService aiJobService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/predict")
-    public ResponseEntity<?> predict(@RequestBody Map<String, Object> payload) {
-        try {
-            String url = modelBaseUrl;
-            if (!url.endsWith("/")) url += "/";
-            url += "predict";
+    public Mono<ResponseEntity<String>> predict(@RequestBody Map<String, Object> payload) {
+        Mono<ResponseEntity<String>> response = predictionBatcher.accepts(payload)
+                ? predictionBatcher.predict(payload)
+                        .map(prediction -> ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(objectMapper.createObjectNode().set("prediction", prediction).toString()))
+                : modelServiceClient.predict(payload)
+                        .map(upstream -> ResponseEntity.status(upstream.getStatusCode())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(upstream.getBody()));
+
+        return response.onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorJson(e))));
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<AiJobDTO> submitJob(@RequestBody Map<String, Object> payload) {
+        AiJobDTO job = aiJobService.submitPredictionJob(payload);
+        return ResponseEntity.accepted().body(job);
+    }
 
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, payload, Map.class);
-            return ResponseEntity.status(response.getStatusCode()).body(response.getBody());
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<AiJobDTO> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(aiJobService.getJob(jobId));
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToJob(@PathVariable String jobId) {
+        return aiJobService.subscribe(jobId);
+    }
+
+    private String errorJson(Throwable e) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("error", String.valueOf(e.getMessage())));
+        } catch (JsonProcessingException ex) {
+            return "{\"error\":\"Model service unavailable\"}";
         }
     }
 }
@@ -25,6 +25,14 @@ public class PrescriptionController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/{prescriptionId}/confirm")
+    public ResponseEntity<PrescriptionResponseDTO> confirmDraft(@PathVariable Long prescriptionId,
+                                                                @RequestParam(required = false) Long doctorId,
+                                                                @RequestParam(required = false) Long appointmentId) {
+        PrescriptionResponseDTO response = prescriptionService.confirmDraftPrescription(prescriptionId, doctorId, appointmentId);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/appointment/{appointmentId}")
     public ResponseEntity<List<PrescriptionResponseDTO>> getByAppointment(@PathVariable Long appointmentId) {
         List<PrescriptionResponseDTO> list = prescriptionService.getByAppointmentId(appointmentId);
@@ -37,6 +45,13 @@ public class PrescriptionController {
         return ResponseEntity.ok(list);
     }
 
+    // AI-extracted drafts awaiting review; the other listings only return issued prescriptions
+    @GetMapping("/patient/{patientId}/drafts")
+    public ResponseEntity<List<PrescriptionResponseDTO>> getDraftsByPatient(@PathVariable Long patientId) {
+        List<PrescriptionResponseDTO> list = prescriptionService.getDraftsByPatientId(patientId);
+        return ResponseEntity.ok(list);
+    }
+
     @GetMapping("/doctor/{doctorId}")
     public ResponseEntity<List<PrescriptionResponseDTO>> getByDoctor(@PathVariable Long doctorId) {
         List<PrescriptionResponseDTO> list = prescriptionService.getByDoctorId(doctorId);
@@ -1,107 +1,73 @@
 package com.healthcare.medVault.controller;
 
+import com.healthcare.medVault.dto.AiJobDTO;
+import com.healthcare.medVault.dto.ExtractedMedicationsDTO;
+import com.healthcare.medVault.dto.SummaryBatchEvent;
+import com.healthcare.medVault.helper.AiJobType;
+import com.healthcare.medVault.service.AiJobService;
+import com.healthcare.medVault.service.MedicationExtractionService;
+import com.healthcare.medVault.service.SummaryServiceClient;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
-import java.util.Map;
 @RestController
 @RequestMapping("/api/summary")
 @RequiredArgsConstructor
 public class SummaryController {
 
-    @Value("${summary.base-url:http://127.0.0.1:8001}")
-    private String summaryBaseUrl;
+    private final SummaryServiceClient summaryServiceClient;
+    private final AiJobService aiJobService;
+    private final MedicationExtractionService medicationExtractionService;
 
-    private final RestTemplate restTemplate = new RestTemplate();
-
-    @PostMapping("/summarize")
-    public ResponseEntity<?> summarize(@RequestParam("file") MultipartFile file) {
-        try {
-            String url = summaryBaseUrl;
-            if (!url.endsWith("/")) url += "/";
-            url += "summarize/";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            LinkedMultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            ByteArrayResource contentsAsResource = new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            };
-
-            body.add("file", contentsAsResource);
-
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, requestEntity, Map.class);
-            return ResponseEntity.status(response.getStatusCode()).body(response.getBody());
-
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
-        }
+    @PostMapping(value = "/summarize", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Flux<String>>> summarize(@RequestParam("file") MultipartFile file) {
+        return summaryServiceClient.forwardFile(SummaryServiceClient.SUMMARIZE_PATH, file);
     }
 
-    @PostMapping("/extract_medicines")
-    public ResponseEntity<?> extractMedicines(@RequestParam("file") MultipartFile file) {
-        try {
-            String url = summaryBaseUrl;
-            if (!url.endsWith("/")) url += "/";
-            url += "extract_medicines/";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            LinkedMultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            ByteArrayResource contentsAsResource = new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            };
-
-            body.add("file", contentsAsResource);
-
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, requestEntity, Map.class);
-            return ResponseEntity.status(response.getStatusCode()).body(response.getBody());
+    @PostMapping(value = "/extract_medicines", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Flux<String>>> extractMedicines(@RequestParam("file") MultipartFile file) {
+        return summaryServiceClient.forwardFile(SummaryServiceClient.EXTRACT_MEDICINES_PATH, file);
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
-        }
+    // Medicines parsed into prescription items; optionally saved as a draft prescription for the patient
+    @PostMapping("/extract_medicines/structured")
+    public Mono<ResponseEntity<ExtractedMedicationsDTO>> extractMedicinesStructured(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "patientId", required = false) Long patientId,
+            @RequestParam(value = "appointmentId", required = false) Long appointmentId,
+            @RequestParam(value = "doctorId", required = false) Long doctorId,
+            @RequestParam(value = "createDraft", defaultValue = "false") boolean createDraft) {
+        return medicationExtractionService.extract(file, patientId, appointmentId, doctorId, createDraft)
+                .map(ResponseEntity::ok);
     }
-    @PostMapping("/summarize-all")
-    public ResponseEntity<?> summarizeAll(@RequestParam("files") List<MultipartFile> files) {
-        WebClient client = WebClient.create(summaryBaseUrl);
 
-        MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
-        for (MultipartFile file : files) {
-            bodyBuilder.part("files", file.getResource());
-        }
+    // Streams one JSON line per file as each finishes, followed by the merged summary
+    @PostMapping(value = "/summarize-all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<SummaryBatchEvent> summarizeAll(@RequestParam("files") List<MultipartFile> files) {
+        return summaryServiceClient.summarizeAll(files);
+    }
 
-        var response = client.post()
-                .uri(uriBuilder -> uriBuilder.path("/summarize_all/").build())
-                .contentType(MediaType.MULTIPART_FORM_DATA)
-                .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+    // Queues summarization or medicine extraction and returns immediately with a job id
+    @PostMapping("/jobs")
+    public ResponseEntity<AiJobDTO> submitJob(@RequestParam("files") List<MultipartFile> files,
+                                              @RequestParam(value = "type", defaultValue = "SUMMARIZE") AiJobType type) {
+        AiJobDTO job = aiJobService.submitFileJob(type, files);
+        return ResponseEntity.accepted().body(job);
+    }
 
-        return ResponseEntity.ok(response);
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<AiJobDTO> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(aiJobService.getJob(jobId));
     }
 
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToJob(@PathVariable String jobId) {
+        return aiJobService.subscribe(jobId);
+    }
 }
@@ -0,0 +1,44 @@
+package com.healthcare.medVault.controller;
+
+import com.healthcare.medVault.dto.VitalReadingDTO;
+import com.healthcare.medVault.dto.VitalSeriesDTO;
+import com.healthcare.medVault.helper.VitalMetric;
+import com.healthcare.medVault.helper.VitalResolution;
+import com.healthcare.medVault.service.VitalsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/vitals")
+@RequiredArgsConstructor
+public class VitalsController {
+
+    private static final String SOURCE_DEVICE = "DEVICE";
+
+    private final VitalsService vitalsService;
+
+    // Device uploads: any number of readings in one batched insert
+    @PostMapping("/{patientId}/readings")
+    public ResponseEntity<Map<String, Integer>> uploadReadings(
+            @PathVariable String patientId,
+            @RequestBody List<VitalReadingDTO> readings) {
+        int inserted = vitalsService.recordReadings(patientId, readings, SOURCE_DEVICE);
+        return ResponseEntity.ok(Map.of("received", readings.size(), "inserted", inserted));
+    }
+
+    @GetMapping("/{patientId}/{metric}")
+    public ResponseEntity<VitalSeriesDTO> getSeries(
+            @PathVariable String patientId,
+            @PathVariable VitalMetric metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) VitalResolution resolution) {
+        return ResponseEntity.ok(vitalsService.getSeries(patientId, metric, from, to, resolution));
+    }
+}
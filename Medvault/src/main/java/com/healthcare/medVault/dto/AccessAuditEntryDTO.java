@@ -0,0 +1,17 @@
+package com.healthcare.medVault.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AccessAuditEntryDTO {
+    private Long id;
+    private LocalDateTime occurredAt;
+    private String resourceType;
+    private String action;
+    private String patientId;
+    private String resourceId;
+    private String appointmentId;
+    private String actor;
+}
@@ -0,0 +1,14 @@
+package com.healthcare.medVault.dto;
+
+import com.healthcare.medVault.helper.AuditAction;
+import com.healthcare.medVault.helper.AuditResourceType;
+
+/**
+ * One access captured on the request path. Kept deliberately raw (epoch millis, no lookups) so
+ * recording it costs an allocation and a ring buffer slot; documentPath is only set when the
+ * patient still has to be resolved from health_documents by the audit writer.
+ */
+public record AccessEvent(long occurredAtMillis, AuditResourceType resourceType, AuditAction action,
+                          String patientId, String resourceId, String appointmentId, String actor,
+                          String documentPath) {
+}
@@ -0,0 +1,22 @@
+package com.healthcare.medVault.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.healthcare.medVault.helper.AiJobStatus;
+import com.healthcare.medVault.helper.AiJobType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AiJobDTO {
+    private String jobId;
+    private AiJobType type;
+    private AiJobStatus status;
+    private Integer attempts;
+    private Integer upstreamStatus;
+    @JsonRawValue
+    private String result; // upstream JSON response, embedded as-is
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
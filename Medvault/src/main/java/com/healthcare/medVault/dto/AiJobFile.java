@@ -0,0 +1,5 @@
+package com.healthcare.medVault.dto;
+
+// A file accepted with an AI job, spooled to disk until the job finishes
+public record AiJobFile(String fileName, String contentType, String path) {
+}
@@ -0,0 +1,25 @@
+package com.healthcare.medVault.dto;
+
+import com.healthcare.medVault.helper.DocumentPermissionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The parts of a document permission request that an access check needs, without the
+ * appointment, doctor, patient and document associations.
+ */
+public record DocumentAccessGrant(Long id, Long documentId, String requestId, DocumentPermissionStatus status,
+                                  LocalDateTime expiresAt, Boolean isExpired) {
+
+    public boolean isApproved() {
+        return status == DocumentPermissionStatus.APPROVED;
+    }
+
+    public boolean canView(LocalDateTime now) {
+        return isApproved() && !Boolean.TRUE.equals(isExpired) && (expiresAt == null || now.isBefore(expiresAt));
+    }
+
+    public DocumentAccessGrant expired() {
+        return new DocumentAccessGrant(id, documentId, requestId, status, expiresAt, true);
+    }
+}
@@ -0,0 +1,12 @@
+package com.healthcare.medVault.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DocumentPermissionBatchRequestDTO {
+    private String appointmentId;
+    private List<String> documentIds;
+    private String requestMessage;
+}
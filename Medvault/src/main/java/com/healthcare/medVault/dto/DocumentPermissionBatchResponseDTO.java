@@ -0,0 +1,11 @@
+package com.healthcare.medVault.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DocumentPermissionBatchResponseDTO {
+    private List<String> documentIds;
+    private String response;
+}
@@ -0,0 +1,12 @@
+package com.healthcare.medVault.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ExtractedMedicationsDTO {
+    private List<PrescriptionItemDTO> items;
+    private String rawText; // extraction text as returned by the summary service
+    private PrescriptionResponseDTO draftPrescription; // set when a draft was requested and items were found
+}
@@ -0,0 +1,16 @@
+package com.healthcare.medVault.dto;
+
+import com.healthcare.medVault.helper.DocumentType;
+
+import java.time.LocalDateTime;
+
+// List-view projection of HealthDocument, filled directly by a constructor expression in JPQL
+public record HealthDocumentListItem(
+        Long id,
+        String name,
+        DocumentType type,
+        String url,
+        LocalDateTime uploadDate,
+        Long size,
+        String description) {
+}
@@ -0,0 +1,36 @@
+package com.healthcare.medVault.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Stored JSON of one health record section together with the record's updatedAt, which doubles
+ * as its version for ETag / If-Match checks.
+ */
+public record HealthRecordSectionValue(String json, LocalDateTime updatedAt) {
+
+    public String eTag() {
+        return eTag(updatedAt);
+    }
+
+    public static String eTag(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return "\"0\"";
+        }
+        long micros = ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), updatedAt);
+        return "\"" + Long.toHexString(micros) + "\"";
+    }
+
+    // Strong comparison as required for If-Match; weak tags never match
+    public static boolean matches(String ifMatch, LocalDateTime updatedAt) {
+        String current = eTag(updatedAt);
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
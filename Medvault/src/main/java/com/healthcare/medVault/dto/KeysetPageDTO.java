@@ -0,0 +1,16 @@
+package com.healthcare.medVault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageDTO<T> {
+    private List<T> items;
+    private String nextCursor; // pass back as ?cursor= to fetch the following page; null on the last page
+    private boolean hasMore;
+}
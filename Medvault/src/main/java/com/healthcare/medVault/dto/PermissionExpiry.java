@@ -0,0 +1,6 @@
+package com.healthcare.medVault.dto;
+
+import java.time.LocalDateTime;
+
+public record PermissionExpiry(Long permissionId, Long appointmentId, Long documentId, LocalDateTime expiresAt) {
+}
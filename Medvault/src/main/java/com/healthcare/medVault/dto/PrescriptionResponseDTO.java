@@ -14,5 +14,6 @@ public class PrescriptionResponseDTO {
     private String doctorName;
     private List<PrescriptionItemDTO> items;
     private String notes;
+    private boolean draft;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,13 @@
+package com.healthcare.medVault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.core.io.Resource;
+
+@Data
+@AllArgsConstructor
+public class StoredDocumentContent {
+    private Resource resource;
+    private long contentLength; // -1 when decoded on the fly
+    private String contentEncoding; // null when the body is sent decoded
+}
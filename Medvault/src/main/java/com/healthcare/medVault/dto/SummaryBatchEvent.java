@@ -0,0 +1,28 @@
+package com.healthcare.medVault.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of the summarize-all NDJSON stream: a per-file result as it finishes, then the merged summary
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SummaryBatchEvent {
+    private String type;     // "file" or "merged"
+    private Integer index;   // position of the file in the request; null for the merged event
+    private String fileName;
+    private String status;   // "ok", "failed" or "timeout"
+    private String summary;
+    private String error;
+
+    public static SummaryBatchEvent file(int index, String fileName, String status, String summary, String error) {
+        return new SummaryBatchEvent("file", index, fileName, status, summary, error);
+    }
+
+    public static SummaryBatchEvent merged(String status, String summary, String error) {
+        return new SummaryBatchEvent("merged", null, null, status, summary, error);
+    }
+}
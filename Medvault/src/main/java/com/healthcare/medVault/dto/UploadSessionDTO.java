@@ -0,0 +1,21 @@
+package com.healthcare.medVault.dto;
+
+import com.healthcare.medVault.helper.UploadSessionStatus;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class UploadSessionDTO {
+    private String uploadId;
+    private String patientId;
+    private String fileName;
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer totalChunks;
+    private List<Integer> missingChunks;
+    private Long bytesReceived;
+    private UploadSessionStatus status;
+    private Long documentId;
+    private LocalDateTime expiresAt;
+}
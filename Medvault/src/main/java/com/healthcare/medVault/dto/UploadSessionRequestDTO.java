@@ -0,0 +1,14 @@
+package com.healthcare.medVault.dto;
+
+import com.healthcare.medVault.helper.DocumentType;
+import lombok.Data;
+
+@Data
+public class UploadSessionRequestDTO {
+    private String fileName;
+    private Long totalSize;
+    private Integer chunkSize;
+    private DocumentType documentType;
+    private String description;
+    private String checksum; // optional SHA-256 (hex) of the whole file
+}
@@ -0,0 +1,17 @@
+package com.healthcare.medVault.dto;
+
+import com.healthcare.medVault.helper.VitalMetric;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalReadingDTO {
+    private VitalMetric metric;
+    private Double value;
+    private LocalDateTime recordedAt;
+}
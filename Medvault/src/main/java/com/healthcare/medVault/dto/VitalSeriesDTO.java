@@ -0,0 +1,19 @@
+package com.healthcare.medVault.dto;
+
+import com.healthcare.medVault.helper.VitalMetric;
+import com.healthcare.medVault.helper.VitalResolution;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalSeriesDTO {
+    private String patientId;
+    private VitalMetric metric;
+    private VitalResolution resolution;
+    private List<VitalSeriesPointDTO> points;
+}
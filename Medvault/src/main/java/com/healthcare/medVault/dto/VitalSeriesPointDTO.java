@@ -0,0 +1,19 @@
+package com.healthcare.medVault.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A raw reading (count 1, min = max = avg) or one hourly/daily bucket
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalSeriesPointDTO {
+    private LocalDateTime time;
+    private long count;
+    private double min;
+    private double max;
+    private double avg;
+}
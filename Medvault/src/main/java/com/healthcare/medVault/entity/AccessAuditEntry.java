@@ -0,0 +1,46 @@
+package com.healthcare.medVault.entity;
+
+import com.healthcare.medVault.helper.AuditAction;
+import com.healthcare.medVault.helper.AuditResourceType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Append-only; rows are written in batches by AccessAuditLog and never updated
+@Entity
+@Table(name = "access_audit_log", indexes = {
+        @Index(name = "idx_access_audit_patient_time", columnList = "patient_id, occurred_at"),
+        @Index(name = "idx_access_audit_actor_time", columnList = "actor, occurred_at"),
+        @Index(name = "idx_access_audit_time", columnList = "occurred_at")
+})
+@Data
+public class AccessAuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource_type", nullable = false, length = 32)
+    private AuditResourceType resourceType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AuditAction action;
+
+    @Column(name = "patient_id")
+    private String patientId;
+
+    @Column(name = "resource_id")
+    private String resourceId;
+
+    @Column(name = "appointment_id", length = 64)
+    private String appointmentId;
+
+    @Column(length = 191)
+    private String actor;
+}
@@ -0,0 +1,64 @@
+package com.healthcare.medVault.entity;
+
+import com.healthcare.medVault.helper.AiJobStatus;
+import com.healthcare.medVault.helper.AiJobType;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ai_jobs", indexes = @Index(name = "idx_ai_jobs_status", columnList = "status"))
+@Data
+public class AiJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, unique = true, length = 36)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AiJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AiJobStatus status;
+
+    // JSON list of spooled files for file jobs, or the request payload for prediction jobs
+    @Column(name = "input", nullable = false, columnDefinition = "TEXT")
+    private String input;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "upstream_status")
+    private Integer upstreamStatus;
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String result;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
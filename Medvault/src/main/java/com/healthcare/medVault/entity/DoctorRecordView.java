@@ -0,0 +1,46 @@
+package com.healthcare.medVault.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Doctor-facing read model of one appointment's medical record, kept current by DoctorRecordViewStore
+@Entity
+@Table(name = "doctor_record_views",
+        indexes = @Index(name = "idx_doctor_record_views_patient", columnList = "patient_id"))
+@Data
+public class DoctorRecordView {
+
+    @Id
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    @Column(name = "patient_id", nullable = false)
+    private String patientId;
+
+    @Column(name = "patient_name")
+    private String patientName;
+
+    // Recorded as the actor when the view is opened; the API does not authenticate the doctor
+    @Column(name = "doctor_username")
+    private String doctorUsername;
+
+    @Column(name = "appointment_at")
+    private LocalDateTime appointmentAt;
+
+    // End of the appointment's slot; the view stays cached until then
+    @Column(name = "window_ends_at")
+    private LocalDateTime windowEndsAt;
+
+    // Null while the patient has no health record
+    @Column(name = "health_record_id")
+    private Long healthRecordId;
+
+    // The doctor-visible sections, keyed like PatientMedicalRecordAccessDTO.MedicalRecord
+    @Column(name = "medical_record", columnDefinition = "JSON")
+    private String medicalRecord;
+
+    @Column(name = "built_at")
+    private LocalDateTime builtAt;
+}
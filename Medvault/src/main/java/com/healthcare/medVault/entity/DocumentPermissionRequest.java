@@ -6,7 +6,8 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "document_permission_requests")
+@Table(name = "document_permission_requests",
+        indexes = @Index(name = "idx_dpr_expiry", columnList = "is_expired, expires_at"))
 @Data
 public class DocumentPermissionRequest {
 
@@ -1,12 +1,17 @@
 package com.healthcare.medVault.entity;
 
 import com.healthcare.medVault.helper.DocumentType;
+import com.healthcare.medVault.helper.StorageCodec;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "health_documents")
+@Table(name = "health_documents",
+        indexes = {
+                @Index(name = "idx_health_documents_patient_upload", columnList = "patient_id, upload_date"),
+                @Index(name = "idx_health_documents_file_path", columnList = "file_path")
+        })
 @Data
 public class HealthDocument {
 
@@ -35,6 +40,14 @@ public class HealthDocument {
 
     private Long size;
 
+    @Column(name = "content_type")
+    private String contentType;
+
+    // How the bytes at filePath are encoded; null for documents stored before codecs existed
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_codec")
+    private StorageCodec codec = StorageCodec.IDENTITY;
+
     @Column(columnDefinition = "TEXT")
     private String description;
 
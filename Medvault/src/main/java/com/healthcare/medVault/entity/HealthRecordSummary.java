@@ -0,0 +1,31 @@
+package com.healthcare.medVault.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Dashboard summary of a patient_health_records row, kept current by HealthRecordSummaryStore
+@Entity
+@Table(name = "health_record_summaries")
+@Data
+public class HealthRecordSummary {
+
+    @Id
+    @Column(name = "patient_id")
+    private String patientId;
+
+    // One bit per HealthRecordSection ordinal, set while that section holds data
+    @Column(name = "filled_sections", nullable = false)
+    private Integer filledSections;
+
+    @Column(name = "active_medications", nullable = false)
+    private Integer activeMedications;
+
+    // Sorted end dates of active medications; reminders are counted against today's date on read
+    @Column(name = "reminder_dates", columnDefinition = "JSON")
+    private String reminderDates;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+}
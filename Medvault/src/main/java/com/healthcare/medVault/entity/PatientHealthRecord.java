@@ -4,11 +4,15 @@ package com.healthcare.medVault.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Entity
-@Table(name = "patient_health_records")
+@Table(name = "patient_health_records", indexes = {
+        @Index(name = "idx_phr_patient_id", columnList = "patient_id"),
+        @Index(name = "idx_phr_blood_group", columnList = "blood_group"),
+        @Index(name = "idx_phr_bmi", columnList = "bmi")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,27 +26,43 @@ public class PatientHealthRecord {
     @Column(name = "patient_id", nullable = false)
     private String patientId;
 
-    @Column(name = "basic_demographics", columnDefinition = "TEXT")
+    @Column(name = "basic_demographics", columnDefinition = "JSON")
     private String basicDemographics;
 
-    @Column(name = "identification_details", columnDefinition = "TEXT")
+    @Column(name = "identification_details", columnDefinition = "JSON")
     private String identificationDetails;
 
-    @Column(name = "medical_history", columnDefinition = "TEXT")
+    @Column(name = "medical_history", columnDefinition = "JSON")
     private String medicalHistory;
 
-    @Column(name = "lifestyle_info", columnDefinition = "TEXT")
+    @Column(name = "lifestyle_info", columnDefinition = "JSON")
     private String lifestyleInfo;
 
-    @Column(name = "current_health", columnDefinition = "TEXT")
+    @Column(name = "current_health", columnDefinition = "JSON")
     private String currentHealth;
 
-    @Column(name = "consent_preferences", columnDefinition = "TEXT")
+    @Column(name = "consent_preferences", columnDefinition = "JSON")
     private String consentPreferences;
 
-    @Column(name = "documents", columnDefinition = "TEXT") // ADD THIS FIELD
+    @Column(name = "documents", columnDefinition = "JSON")
     private String documents;
 
+    // Lower-cased titles of the active medical history items, kept in step with medicalHistory by
+    // the service and indexed with a multi-valued index (see HealthRecordSchemaInitializer)
+    @Column(name = "active_conditions", columnDefinition = "JSON")
+    private String activeConditions;
+
+    // Virtual columns MySQL derives from the section JSON so they can be indexed and filtered on
+    @Column(name = "blood_group", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(16) GENERATED ALWAYS AS " +
+                    "(JSON_VALUE(basic_demographics, '$.bloodGroup' RETURNING CHAR(16))) VIRTUAL")
+    private String bloodGroup;
+
+    @Column(name = "bmi", insertable = false, updatable = false,
+            columnDefinition = "DECIMAL(5,2) GENERATED ALWAYS AS " +
+                    "(JSON_VALUE(current_health, '$.bmi' RETURNING DECIMAL(5,2))) VIRTUAL")
+    private BigDecimal bmi;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -38,6 +38,9 @@ public class Prescription {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Drafts come from automatic medicine extraction and still need review; null is treated as false
+    private Boolean draft = false;
+
     private LocalDateTime createdAt;
 
     @PrePersist
@@ -0,0 +1,37 @@
+package com.healthcare.medVault.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "summary_cache",
+        uniqueConstraints = @UniqueConstraint(name = "uk_summary_cache_key",
+                columnNames = {"content_hash", "endpoint", "prompt_version"}))
+@Data
+public class SummaryCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 64)
+    private String endpoint;
+
+    @Column(name = "prompt_version", nullable = false, length = 32)
+    private String promptVersion;
+
+    @Column(name = "response_body", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
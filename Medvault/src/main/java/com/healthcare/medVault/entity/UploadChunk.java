@@ -0,0 +1,36 @@
+package com.healthcare.medVault.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "upload_chunks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_upload_chunks_upload_index", columnNames = {"upload_id", "chunk_index"}))
+@Data
+public class UploadChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "upload_id", nullable = false)
+    private String uploadId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    @Column(nullable = false)
+    private Integer size;
+
+    @Column(nullable = false)
+    private String checksum;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.receivedAt = LocalDateTime.now();
+    }
+}
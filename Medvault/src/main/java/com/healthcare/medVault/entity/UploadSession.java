@@ -0,0 +1,77 @@
+package com.healthcare.medVault.entity;
+
+import com.healthcare.medVault.helper.DocumentType;
+import com.healthcare.medVault.helper.UploadSessionStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "upload_sessions")
+@Data
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "upload_id", nullable = false, unique = true)
+    private String uploadId;
+
+    @Column(name = "patient_id", nullable = false)
+    private String patientId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", nullable = false)
+    private DocumentType documentType;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "total_chunks", nullable = false)
+    private Integer totalChunks;
+
+    // Optional SHA-256 (hex) of the whole file, verified on commit
+    @Column(name = "file_checksum")
+    private String fileChecksum;
+
+    @Column(name = "temp_path", nullable = false)
+    private String tempPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadSessionStatus status = UploadSessionStatus.ACTIVE;
+
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+        this.uploadId = java.util.UUID.randomUUID().toString();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,38 @@
+package com.healthcare.medVault.entity;
+
+import com.healthcare.medVault.helper.VitalMetric;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Append-only; rows are written in batches by VitalSeriesRepository and never updated
+@Entity
+@Table(name = "vital_readings", uniqueConstraints = @UniqueConstraint(
+        name = "uk_vital_readings_series", columnNames = {"patient_id", "metric", "recorded_at"}))
+@Data
+public class VitalReading {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false, length = 64)
+    private String patientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private VitalMetric metric;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    @Column(name = "reading_value", nullable = false)
+    private Double value;
+
+    @Column(length = 32)
+    private String source;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
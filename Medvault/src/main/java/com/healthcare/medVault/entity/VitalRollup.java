@@ -0,0 +1,46 @@
+package com.healthcare.medVault.entity;
+
+import com.healthcare.medVault.helper.VitalMetric;
+import com.healthcare.medVault.helper.VitalResolution;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Hourly and daily aggregates of vital_readings, upserted as readings arrive
+@Entity
+@Table(name = "vital_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_vital_rollups_bucket", columnNames = {"patient_id", "metric", "resolution", "bucket_start"}))
+@Data
+public class VitalRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false, length = 64)
+    private String patientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private VitalMetric metric;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private VitalResolution resolution;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;
+
+    @Column(name = "value_sum", nullable = false)
+    private Double valueSum;
+
+    @Column(name = "min_value", nullable = false)
+    private Double minValue;
+
+    @Column(name = "max_value", nullable = false)
+    private Double maxValue;
+}
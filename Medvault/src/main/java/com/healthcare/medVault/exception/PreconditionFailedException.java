@@ -0,0 +1,7 @@
+package com.healthcare.medVault.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.healthcare.medVault.helper;
+
+public enum AiJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.healthcare.medVault.helper;
+
+public enum AiJobType {
+    SUMMARIZE,
+    EXTRACT_MEDICINES,
+    PREDICT
+}
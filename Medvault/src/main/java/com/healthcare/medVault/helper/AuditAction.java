@@ -0,0 +1,7 @@
+package com.healthcare.medVault.helper;
+
+public enum AuditAction {
+    VIEW,
+    DOWNLOAD,
+    EXPORT
+}
@@ -0,0 +1,8 @@
+package com.healthcare.medVault.helper;
+
+public enum AuditResourceType {
+    HEALTH_RECORD,
+    HEALTH_RECORD_SECTION,
+    MEDICAL_RECORD,
+    DOCUMENT
+}
@@ -0,0 +1,38 @@
+package com.healthcare.medVault.helper;
+
+import java.util.Arrays;
+
+public enum HealthRecordSection {
+    BASIC_DEMOGRAPHICS("basicDemographics", "basic_demographics"),
+    IDENTIFICATION("identification", "identification_details"),
+    MEDICAL_HISTORY("medicalHistory", "medical_history"),
+    LIFESTYLE("lifestyle", "lifestyle_info"),
+    CURRENT_HEALTH("currentHealth", "current_health"),
+    DOCUMENTS("documents", "documents"),
+    CONSENT_PREFERENCES("consentPreferences", "consent_preferences");
+
+    // Section name used by the API and the frontend
+    private final String key;
+    // JSON column in patient_health_records holding the section
+    private final String column;
+
+    HealthRecordSection(String key, String column) {
+        this.key = key;
+        this.column = column;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public static HealthRecordSection fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(section -> section.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Invalid section: " + key));
+    }
+}
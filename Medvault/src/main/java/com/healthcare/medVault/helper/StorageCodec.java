@@ -0,0 +1,17 @@
+package com.healthcare.medVault.helper;
+
+public enum StorageCodec {
+    IDENTITY(null),
+    GZIP("gzip");
+
+    // Value of the HTTP Content-Encoding header that serves the stored bytes as-is
+    private final String contentEncoding;
+
+    StorageCodec(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+}
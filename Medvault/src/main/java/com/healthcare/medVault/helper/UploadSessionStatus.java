@@ -0,0 +1,7 @@
+package com.healthcare.medVault.helper;
+
+public enum UploadSessionStatus {
+    ACTIVE,
+    COMPLETED,
+    ABORTED
+}
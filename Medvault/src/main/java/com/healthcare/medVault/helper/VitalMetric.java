@@ -0,0 +1,12 @@
+package com.healthcare.medVault.helper;
+
+public enum VitalMetric {
+    BLOOD_PRESSURE_SYSTOLIC,
+    BLOOD_PRESSURE_DIASTOLIC,
+    PULSE,
+    TEMPERATURE,
+    RESPIRATORY_RATE,
+    OXYGEN_SATURATION,
+    WEIGHT,
+    BMI
+}
@@ -0,0 +1,7 @@
+package com.healthcare.medVault.helper;
+
+public enum VitalResolution {
+    RAW,
+    HOUR,
+    DAY
+}
@@ -0,0 +1,76 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.dto.AccessEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batched writes for the access audit: one multi-row insert per flush plus the lookups and
+ * last_accessed_at updates that were kept off the request path.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccessAuditBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<AccessEvent> events, Map<String, String> documentPatients) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (AccessEvent event : events) {
+            String patientId = event.patientId() != null
+                    ? event.patientId()
+                    : documentPatients.get(event.documentPath());
+            rows.add(new Object[]{Timestamp.valueOf(toLocalDateTime(event.occurredAtMillis())),
+                    event.resourceType().name(), event.action().name(), patientId, event.resourceId(),
+                    event.appointmentId(), event.actor()});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO access_audit_log " +
+                        "(occurred_at, resource_type, action, patient_id, resource_id, appointment_id, actor) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    public Map<String, String> findDocumentPatients(Collection<String> filePaths) {
+        Map<String, String> patients = new HashMap<>();
+        if (filePaths.isEmpty()) {
+            return patients;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(filePaths.size(), "?"));
+        jdbcTemplate.query(
+                "SELECT file_path, patient_id FROM health_documents WHERE file_path IN (" + placeholders + ")",
+                rs -> {
+                    patients.put(rs.getString("file_path"), rs.getString("patient_id"));
+                },
+                filePaths.toArray());
+        return patients;
+    }
+
+    public void touchLastAccessed(Map<String, Long> lastAccessByPatient) {
+        if (lastAccessByPatient.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(lastAccessByPatient.size());
+        lastAccessByPatient.forEach((patientId, millis) ->
+                rows.add(new Object[]{Timestamp.valueOf(toLocalDateTime(millis)), patientId}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE patient_health_records SET last_accessed_at = ? WHERE patient_id = ?",
+                rows);
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,22 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.entity.AccessAuditEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AccessAuditRepository extends JpaRepository<AccessAuditEntry, Long> {
+
+    List<AccessAuditEntry> findByPatientIdAndOccurredAtBetweenOrderByOccurredAtDesc(
+            String patientId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    List<AccessAuditEntry> findByActorAndOccurredAtBetweenOrderByOccurredAtDesc(
+            String actor, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    List<AccessAuditEntry> findByOccurredAtBetweenOrderByOccurredAtDesc(
+            LocalDateTime from, LocalDateTime to, Pageable pageable);
+}
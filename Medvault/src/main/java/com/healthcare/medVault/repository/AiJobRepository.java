@@ -0,0 +1,16 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.entity.AiJob;
+import com.healthcare.medVault.helper.AiJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AiJobRepository extends JpaRepository<AiJob, Long> {
+    Optional<AiJob> findByJobId(String jobId);
+    List<AiJob> findByStatusInOrderByCreatedAtAsc(Collection<AiJobStatus> statuses);
+}
@@ -4,12 +4,14 @@ import com.healthcare.medVault.dto.MonthlyAppointmentsDTO;
 import com.healthcare.medVault.dto.PatientsPerDoctorDTO;
 import com.healthcare.medVault.entity.Appointment;
 import com.healthcare.medVault.helper.AppointmentStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment,Long> {
@@ -27,8 +29,20 @@ public interface AppointmentRepository extends JpaRepository<Appointment,Long> {
             "GROUP BY d.id")
     List<PatientsPerDoctorDTO> getPatientsPerDoctor();
 
+    // Listings read patient, doctor and slot for every row, so they are joined into the same statement
+    @EntityGraph(attributePaths = {"patient", "doctor", "slot"})
     List<Appointment> findByPatientId(Long patientId);
+
+    @EntityGraph(attributePaths = {"patient", "doctor", "slot"})
     List<Appointment> findByDoctorId(Long doctorId);
+
+    @EntityGraph(attributePaths = {"patient", "doctor", "slot"})
+    @Query("SELECT a FROM Appointment a")
+    List<Appointment> findAllWithDetails();
+
+    @EntityGraph(attributePaths = {"patient", "slot", "doctor.user"})
+    Optional<Appointment> findWithDetailsById(Long id);
+
     boolean existsBySlotId(Long slotId);
 
     //For reviews
@@ -0,0 +1,41 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.entity.DoctorRecordView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DoctorRecordViewRepository extends JpaRepository<DoctorRecordView, Long> {
+
+    @Query("SELECT v.appointmentId FROM DoctorRecordView v WHERE v.patientId = :patientId")
+    List<Long> findAppointmentIdsByPatientId(@Param("patientId") String patientId);
+
+    // Replaces one section in the patient's live views without reading the rest of the record;
+    // views whose window ended before the cutoff are left to pruneEndedBefore
+    @Modifying
+    @Query(value = "UPDATE doctor_record_views " +
+            "SET medical_record = JSON_SET(medical_record, :path, CAST(:json AS JSON)) " +
+            "WHERE patient_id = :patientId AND medical_record IS NOT NULL " +
+            "AND (window_ends_at IS NULL OR window_ends_at >= :cutoff)",
+            nativeQuery = true)
+    int updateSection(@Param("patientId") String patientId,
+                      @Param("path") String path,
+                      @Param("json") String json,
+                      @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM DoctorRecordView v WHERE v.patientId = :patientId")
+    int deleteByPatientId(@Param("patientId") String patientId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DoctorRecordView v WHERE v.windowEndsAt < :cutoff")
+    int pruneEndedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
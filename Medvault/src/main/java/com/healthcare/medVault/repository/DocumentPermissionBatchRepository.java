@@ -0,0 +1,38 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.entity.DocumentPermissionRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch insert for permission requests. The entity uses IDENTITY ids, which keeps Hibernate
+ * from batching inserts, so a request for many documents would otherwise be one round-trip per row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DocumentPermissionBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<DocumentPermissionRequest> requests) {
+        List<Object[]> rows = new ArrayList<>(requests.size());
+        for (DocumentPermissionRequest request : requests) {
+            rows.add(new Object[]{request.getRequestId(), request.getAppointment().getId(),
+                    request.getDoctor().getId(), request.getPatient().getId(), request.getDocument().getId(),
+                    request.getDocumentName(), request.getDocumentType(), request.getRequestMessage(),
+                    request.getStatus().name(), request.getIsExpired(), Timestamp.valueOf(request.getRequestedAt()),
+                    Timestamp.valueOf(request.getCreatedAt()), Timestamp.valueOf(request.getUpdatedAt())});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO document_permission_requests " +
+                        "(request_id, appointment_id, doctor_id, patient_id, document_id, document_name, " +
+                        "document_type, request_message, status, is_expired, requested_at, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows);
+    }
+}
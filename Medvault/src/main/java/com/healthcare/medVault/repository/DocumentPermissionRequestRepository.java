@@ -1,23 +1,35 @@
 package com.healthcare.medVault.repository;
 
+import com.healthcare.medVault.dto.DocumentAccessGrant;
+import com.healthcare.medVault.dto.PermissionExpiry;
 import com.healthcare.medVault.entity.DocumentPermissionRequest;
 import com.healthcare.medVault.helper.DocumentPermissionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DocumentPermissionRequestRepository extends JpaRepository<DocumentPermissionRequest, Long> {
 
+    // Request DTOs only need the ids of the appointment, patient and document, which come from the
+    // foreign keys without initializing the proxies; the doctor's name is the one association read
+    @EntityGraph(attributePaths = "doctor")
     List<DocumentPermissionRequest> findByAppointmentIdAndStatus(Long appointmentId, DocumentPermissionStatus status);
 
     List<DocumentPermissionRequest> findByPatientIdAndStatus(Long patientId, DocumentPermissionStatus status);
 
+    @EntityGraph(attributePaths = "doctor")
     List<DocumentPermissionRequest> findByPatientId(Long patientId);
 
     Optional<DocumentPermissionRequest> findByRequestId(String requestId);
@@ -29,6 +41,51 @@ public interface DocumentPermissionRequestRepository extends JpaRepository<Docum
     @Query("SELECT dpr FROM DocumentPermissionRequest dpr WHERE dpr.patient.id = :patientId AND dpr.status = 'PENDING'")
     List<DocumentPermissionRequest> findPendingRequestsByPatientId(@Param("patientId") Long patientId);
 
-    @Query("SELECT dpr FROM DocumentPermissionRequest dpr WHERE dpr.expiresAt < :now AND dpr.isExpired = false")
-    List<DocumentPermissionRequest> findExpiredPermissions(@Param("now") LocalDateTime now);
-}
\ No newline at end of file
+    // Locks the pending rows a bulk response is about to answer, so a concurrent response cannot
+    // answer them in between and the UPDATE below touches exactly these ids
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT dpr.id FROM DocumentPermissionRequest dpr " +
+            "WHERE dpr.appointment.id = :appointmentId AND dpr.status = 'PENDING'")
+    List<Long> findPendingIdsForUpdate(@Param("appointmentId") Long appointmentId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT dpr.id FROM DocumentPermissionRequest dpr " +
+            "WHERE dpr.appointment.id = :appointmentId AND dpr.document.id IN :documentIds AND dpr.status = 'PENDING'")
+    List<Long> findPendingIdsForUpdate(@Param("appointmentId") Long appointmentId,
+                                       @Param("documentIds") Collection<Long> documentIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE DocumentPermissionRequest dpr SET dpr.status = :status, dpr.respondedAt = :now, " +
+            "dpr.expiresAt = :expiresAt, dpr.isExpired = :isExpired, dpr.updatedAt = :now " +
+            "WHERE dpr.id IN :ids AND dpr.status = 'PENDING'")
+    int respondToPending(@Param("ids") Collection<Long> ids,
+                         @Param("status") DocumentPermissionStatus status,
+                         @Param("expiresAt") LocalDateTime expiresAt,
+                         @Param("isExpired") boolean isExpired,
+                         @Param("now") LocalDateTime now);
+
+    @EntityGraph(attributePaths = "doctor")
+    List<DocumentPermissionRequest> findByIdIn(Collection<Long> ids);
+
+    // Bulk updates skip @PreUpdate, so updated_at is set explicitly
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentPermissionRequest dpr SET dpr.isExpired = true, dpr.updatedAt = :now " +
+            "WHERE dpr.expiresAt <= :now AND dpr.isExpired = false")
+    int expirePermissionsBefore(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentPermissionRequest dpr SET dpr.isExpired = true, dpr.updatedAt = :now " +
+            "WHERE dpr.id IN :ids AND dpr.expiresAt <= :now AND dpr.isExpired = false")
+    int expirePermissions(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.healthcare.medVault.dto.PermissionExpiry(dpr.id, dpr.appointment.id, dpr.document.id, " +
+            "dpr.expiresAt) FROM DocumentPermissionRequest dpr WHERE dpr.expiresAt > :now AND dpr.isExpired = false")
+    List<PermissionExpiry> findPendingExpiries(@Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.healthcare.medVault.dto.DocumentAccessGrant(dpr.id, dpr.document.id, dpr.requestId, " +
+            "dpr.status, dpr.expiresAt, dpr.isExpired) FROM DocumentPermissionRequest dpr " +
+            "WHERE dpr.appointment.id = :appointmentId")
+    List<DocumentAccessGrant> findAccessGrantsByAppointmentId(@Param("appointmentId") Long appointmentId);
+}
@@ -1,9 +1,16 @@
 package com.healthcare.medVault.repository;
 
+import com.healthcare.medVault.dto.HealthDocumentListItem;
 import com.healthcare.medVault.entity.HealthDocument;
+import com.healthcare.medVault.helper.DocumentType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,5 +18,26 @@ import java.util.Optional;
 public interface HealthDocumentRepository extends JpaRepository<HealthDocument, Long> {
     List<HealthDocument> findByPatientId(String patientId);
     Optional<HealthDocument> findByIdAndPatientId(Long id, String patientId);
+    List<HealthDocument> findAllByIdInAndPatientId(Collection<Long> ids, String patientId);
+    Optional<HealthDocument> findByFilePath(String filePath);
     void deleteByIdAndPatientId(Long id, String patientId);
+
+    // Keyset page over idx_health_documents_patient_upload, newest first; cursor is the last (uploadDate, id) seen
+    @Query("SELECT new com.healthcare.medVault.dto.HealthDocumentListItem(" +
+            "d.id, d.name, d.type, d.url, d.uploadDate, d.size, d.description) " +
+            "FROM HealthDocument d " +
+            "WHERE d.patientId = :patientId " +
+            "AND (:type IS NULL OR d.type = :type) " +
+            "AND (:fromDate IS NULL OR d.uploadDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR d.uploadDate < :toDate) " +
+            "AND (:cursorDate IS NULL OR d.uploadDate < :cursorDate " +
+            "     OR (d.uploadDate = :cursorDate AND d.id < :cursorId)) " +
+            "ORDER BY d.uploadDate DESC, d.id DESC")
+    List<HealthDocumentListItem> findDocumentPage(@Param("patientId") String patientId,
+                                                  @Param("type") DocumentType type,
+                                                  @Param("fromDate") LocalDateTime fromDate,
+                                                  @Param("toDate") LocalDateTime toDate,
+                                                  @Param("cursorDate") LocalDateTime cursorDate,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.dto.HealthRecordSectionValue;
+import com.healthcare.medVault.helper.BloodGroup;
+import com.healthcare.medVault.helper.HealthRecordSection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Column-level access to patient_health_records. Reads and writes touch only the JSON columns
+ * they address instead of hydrating the whole entity, and searches run against the indexed blood_group, bmi and
+ * active_conditions columns rather than parsing every section.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HealthRecordSectionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Raw JSON stored for one section ("null" when the section was never filled in) and the
+     * record's updatedAt, or empty when the patient has no health record at all.
+     */
+    public Optional<HealthRecordSectionValue> findSection(String patientId, HealthRecordSection section) {
+        // The column name comes from the enum, never from the request
+        List<HealthRecordSectionValue> rows = jdbcTemplate.query(
+                "SELECT " + section.getColumn() + ", updated_at FROM patient_health_records WHERE patient_id = ?",
+                (rs, rowNum) -> {
+                    String json = rs.getString(1);
+                    return new HealthRecordSectionValue(json != null ? json : "null",
+                            rs.getObject(2, LocalDateTime.class));
+                },
+                patientId);
+        return rows.stream().findFirst();
+    }
+
+    public Optional<LocalDateTime> findUpdatedAt(String patientId) {
+        List<LocalDateTime> rows = jdbcTemplate.query(
+                "SELECT updated_at FROM patient_health_records WHERE patient_id = ?",
+                (rs, rowNum) -> rs.getObject(1, LocalDateTime.class),
+                patientId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Writes the given section columns of one record in a single UPDATE, leaving the other
+     * sections untouched. A non-null activeConditions refreshes the condition index alongside
+     * medical_history. With expectedUpdatedAt set, the row is only written if it still carries
+     * that updatedAt. Returns the number of rows updated, 0 when the patient has no record or
+     * it changed in the meantime.
+     */
+    public int updateSections(String patientId, Map<HealthRecordSection, String> sections,
+                              String activeConditions, LocalDateTime updatedAt,
+                              LocalDateTime expectedUpdatedAt) {
+        StringBuilder sql = new StringBuilder("UPDATE patient_health_records SET updated_at = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(updatedAt));
+
+        sections.forEach((section, json) -> {
+            sql.append(", ").append(section.getColumn()).append(" = ?");
+            args.add(json);
+        });
+        if (activeConditions != null) {
+            sql.append(", active_conditions = ?");
+            args.add(activeConditions);
+        }
+        sql.append(" WHERE patient_id = ?");
+        args.add(patientId);
+        if (expectedUpdatedAt != null) {
+            sql.append(" AND updated_at = ?");
+            args.add(Timestamp.valueOf(expectedUpdatedAt));
+        }
+
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    public List<String> searchPatientIds(String activeCondition, BloodGroup bloodGroup,
+                                         BigDecimal minBmi, BigDecimal maxBmi, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT patient_id FROM patient_health_records WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+
+        if (activeCondition != null) {
+            // MEMBER OF is served by the multi-valued index on active_conditions
+            sql.append(" AND ? MEMBER OF (active_conditions)");
+            args.add(activeCondition);
+        }
+        if (bloodGroup != null) {
+            sql.append(" AND blood_group = ?");
+            args.add(bloodGroup.name());
+        }
+        if (minBmi != null) {
+            sql.append(" AND bmi >= ?");
+            args.add(minBmi);
+        }
+        if (maxBmi != null) {
+            sql.append(" AND bmi <= ?");
+            args.add(maxBmi);
+        }
+        sql.append(" ORDER BY patient_id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray());
+    }
+}
@@ -0,0 +1,34 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.entity.HealthRecordSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface HealthRecordSummaryRepository extends JpaRepository<HealthRecordSummary, String> {
+
+    // Flips only the bits of the sections that were written
+    @Modifying
+    @Query(value = "UPDATE health_record_summaries " +
+            "SET filled_sections = (filled_sections & ~:mask) | :filled, last_updated = :lastUpdated " +
+            "WHERE patient_id = :patientId",
+            nativeQuery = true)
+    int updateFilledSections(@Param("patientId") String patientId,
+                             @Param("mask") int mask,
+                             @Param("filled") int filled,
+                             @Param("lastUpdated") LocalDateTime lastUpdated);
+
+    @Modifying
+    @Query(value = "UPDATE health_record_summaries " +
+            "SET active_medications = :activeMedications, reminder_dates = :reminderDates " +
+            "WHERE patient_id = :patientId",
+            nativeQuery = true)
+    int updateMedications(@Param("patientId") String patientId,
+                          @Param("activeMedications") int activeMedications,
+                          @Param("reminderDates") String reminderDates);
+}
@@ -2,11 +2,22 @@ package com.healthcare.medVault.repository;
 
 import com.healthcare.medVault.entity.Prescription;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
+// Draft prescriptions still need a doctor's review, so the regular finders leave them out;
+// a null draft flag (rows from before drafts existed) counts as issued
 public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
-    List<Prescription> findByAppointmentId(Long appointmentId);
-    List<Prescription> findByPatientId(Long patientId);
-    List<Prescription> findByDoctorId(Long doctorId);
+    @Query("SELECT p FROM Prescription p WHERE p.appointment.id = :appointmentId AND (p.draft = false OR p.draft IS NULL)")
+    List<Prescription> findByAppointmentId(@Param("appointmentId") Long appointmentId);
+
+    @Query("SELECT p FROM Prescription p WHERE p.patient.id = :patientId AND (p.draft = false OR p.draft IS NULL)")
+    List<Prescription> findByPatientId(@Param("patientId") Long patientId);
+
+    @Query("SELECT p FROM Prescription p WHERE p.doctor.id = :doctorId AND (p.draft = false OR p.draft IS NULL)")
+    List<Prescription> findByDoctorId(@Param("doctorId") Long doctorId);
+
+    List<Prescription> findByPatientIdAndDraftTrue(Long patientId);
 }
@@ -1,6 +1,7 @@
 package com.healthcare.medVault.repository;
 
 import com.healthcare.medVault.entity.Review;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,8 +12,13 @@ import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    // The appointment date comes from its slot, so the slot is fetched along with the appointment
+    @EntityGraph(attributePaths = {"appointment", "appointment.slot", "patient", "doctor"})
     List<Review> findByPatientId(Long patientId);
+
+    @EntityGraph(attributePaths = {"appointment", "appointment.slot", "patient", "doctor"})
     List<Review> findByDoctorId(Long doctorId);
+
     Optional<Review> findByAppointmentId(Long appointmentId);
 
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.doctor.id = :doctorId")
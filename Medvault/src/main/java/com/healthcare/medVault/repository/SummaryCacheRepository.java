@@ -0,0 +1,13 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.entity.SummaryCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SummaryCacheRepository extends JpaRepository<SummaryCacheEntry, Long> {
+    Optional<SummaryCacheEntry> findByContentHashAndEndpointAndPromptVersion(String contentHash, String endpoint,
+                                                                            String promptVersion);
+}
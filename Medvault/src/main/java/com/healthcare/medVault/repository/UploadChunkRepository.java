@@ -0,0 +1,26 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.entity.UploadChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadChunkRepository extends JpaRepository<UploadChunk, Long> {
+
+    @Query("SELECT c.chunkIndex FROM UploadChunk c WHERE c.uploadId = :uploadId ORDER BY c.chunkIndex")
+    List<Integer> findChunkIndexesByUploadId(@Param("uploadId") String uploadId);
+
+    long countByUploadId(String uploadId);
+
+    Optional<UploadChunk> findByUploadIdAndChunkIndex(String uploadId, Integer chunkIndex);
+
+    @Modifying
+    @Query("DELETE FROM UploadChunk c WHERE c.uploadId = :uploadId")
+    void deleteByUploadId(@Param("uploadId") String uploadId);
+}
@@ -0,0 +1,28 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.entity.UploadSession;
+import com.healthcare.medVault.helper.UploadSessionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+    Optional<UploadSession> findByUploadId(String uploadId);
+
+    // Serializes complete, abort and the expiry sweep on the same session
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.uploadId = :uploadId")
+    Optional<UploadSession> findForUpdateByUploadId(@Param("uploadId") String uploadId);
+
+    @Query("SELECT s.uploadId FROM UploadSession s WHERE s.status = :status AND s.expiresAt < :now")
+    List<String> findUploadIdsByStatusAndExpiresAtBefore(@Param("status") UploadSessionStatus status,
+                                                         @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,147 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.dto.VitalReadingDTO;
+import com.healthcare.medVault.dto.VitalSeriesPointDTO;
+import com.healthcare.medVault.helper.VitalMetric;
+import com.healthcare.medVault.helper.VitalResolution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batched JDBC access to the vitals time series. Readings are only ever inserted; the hourly and
+ * daily rollups are maintained with INSERT ... ON DUPLICATE KEY UPDATE so a chart over years of
+ * data reads a few hundred pre-aggregated rows instead of every reading.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VitalSeriesRepository {
+
+    public record RollupDelta(String patientId, VitalMetric metric, VitalResolution resolution,
+                              LocalDateTime bucketStart, long count, double sum, double min, double max) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the readings in one batch and returns those that this call actually wrote. A reading
+     * for a (patient, metric, recordedAt) that is already stored, repeated within the batch, or
+     * inserted by a concurrent upload is skipped by INSERT IGNORE, so it never counts twice in the
+     * rollups. Each statement's update count is 1 when the row was written and 0 when it was
+     * ignored; a rewritten batch (rewriteBatchedStatements) reports no per-row counts and is
+     * rejected rather than guessed at.
+     */
+    public List<VitalReadingDTO> insertReadings(String patientId, List<VitalReadingDTO> readings, String source) {
+        Set<String> keys = new HashSet<>();
+        List<VitalReadingDTO> distinct = new ArrayList<>(readings.size());
+        for (VitalReadingDTO reading : readings) {
+            if (keys.add(key(reading.getMetric(), reading.getRecordedAt()))) {
+                distinct.add(reading);
+            }
+        }
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(distinct.size());
+        for (VitalReadingDTO reading : distinct) {
+            rows.add(new Object[]{patientId, reading.getMetric().name(), Timestamp.valueOf(reading.getRecordedAt()),
+                    reading.getValue(), source, createdAt});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO vital_readings (patient_id, metric, recorded_at, reading_value, source, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                rows);
+
+        List<VitalReadingDTO> inserted = new ArrayList<>(distinct.size());
+        for (int i = 0; i < distinct.size(); i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                throw new IllegalStateException("Vital readings need per-statement update counts; "
+                        + "disable rewriteBatchedStatements for this datasource");
+            }
+            if (counts[i] > 0) {
+                inserted.add(distinct.get(i));
+            }
+        }
+        return inserted;
+    }
+
+    // Latest stored value of each metric, used to skip snapshot values that have not changed
+    public Map<VitalMetric, Double> findLatestValues(String patientId) {
+        Map<VitalMetric, Double> latest = new EnumMap<>(VitalMetric.class);
+        jdbcTemplate.query(
+                "SELECT v.metric, v.reading_value FROM vital_readings v " +
+                        "JOIN (SELECT metric, MAX(recorded_at) AS recorded_at FROM vital_readings " +
+                        "WHERE patient_id = ? GROUP BY metric) l " +
+                        "ON v.metric = l.metric AND v.recorded_at = l.recorded_at " +
+                        "WHERE v.patient_id = ?",
+                rs -> {
+                    latest.put(VitalMetric.valueOf(rs.getString("metric")), rs.getDouble("reading_value"));
+                },
+                patientId, patientId);
+        return latest;
+    }
+
+    private static String key(VitalMetric metric, LocalDateTime recordedAt) {
+        return metric.name() + '|' + recordedAt;
+    }
+
+    // Callers pass deltas in a stable order so concurrent batches lock buckets in the same sequence
+    public void upsertRollups(List<RollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        for (RollupDelta delta : deltas) {
+            rows.add(new Object[]{delta.patientId(), delta.metric().name(), delta.resolution().name(),
+                    Timestamp.valueOf(delta.bucketStart()), delta.count(), delta.sum(), delta.min(), delta.max()});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO vital_rollups " +
+                        "(patient_id, metric, resolution, bucket_start, sample_count, value_sum, min_value, max_value) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                        "sample_count = sample_count + VALUES(sample_count), " +
+                        "value_sum = value_sum + VALUES(value_sum), " +
+                        "min_value = LEAST(min_value, VALUES(min_value)), " +
+                        "max_value = GREATEST(max_value, VALUES(max_value))",
+                rows);
+    }
+
+    public List<VitalSeriesPointDTO> findReadings(String patientId, VitalMetric metric,
+                                                  LocalDateTime from, LocalDateTime to, int limit) {
+        return jdbcTemplate.query(
+                "SELECT recorded_at, reading_value FROM vital_readings " +
+                        "WHERE patient_id = ? AND metric = ? AND recorded_at >= ? AND recorded_at < ? " +
+                        "ORDER BY recorded_at LIMIT ?",
+                (rs, rowNum) -> {
+                    double value = rs.getDouble("reading_value");
+                    return new VitalSeriesPointDTO(rs.getObject("recorded_at", LocalDateTime.class),
+                            1, value, value, value);
+                },
+                patientId, metric.name(), Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+
+    public List<VitalSeriesPointDTO> findRollups(String patientId, VitalMetric metric, VitalResolution resolution,
+                                                 LocalDateTime from, LocalDateTime to, int limit) {
+        return jdbcTemplate.query(
+                "SELECT bucket_start, sample_count, value_sum, min_value, max_value FROM vital_rollups " +
+                        "WHERE patient_id = ? AND metric = ? AND resolution = ? " +
+                        "AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start LIMIT ?",
+                (rs, rowNum) -> {
+                    long count = rs.getLong("sample_count");
+                    return new VitalSeriesPointDTO(rs.getObject("bucket_start", LocalDateTime.class), count,
+                            rs.getDouble("min_value"), rs.getDouble("max_value"),
+                            rs.getDouble("value_sum") / count);
+                },
+                patientId, metric.name(), resolution.name(), Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+}
@@ -0,0 +1,160 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.AccessEvent;
+import com.healthcare.medVault.helper.AuditAction;
+import com.healthcare.medVault.helper.AuditResourceType;
+import com.healthcare.medVault.repository.AccessAuditBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access audit for health records and documents. Request threads only build an AccessEvent and
+ * offer it to a lock-free ring buffer; a single background writer drains the buffer and flushes
+ * batches to access_audit_log, resolving document owners and updating last_accessed_at on the way.
+ * If the buffer is ever full the event is dropped and counted rather than slowing the request.
+ *
+ * <p>The actor is taken from the security context, but the API currently permits anonymous access,
+ * so it is null for every event except medical record views: those are opened by the appointment's
+ * doctor, whose username the caller passes explicitly. Patient, resource and appointment are still
+ * recorded for the others.
+ */
+@Slf4j
+@Component
+public class AccessAuditLog {
+
+    private final AccessAuditBatchRepository batchRepository;
+    private final MpscRingBuffer<AccessEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long idleParkNanos;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AccessAuditLog(AccessAuditBatchRepository batchRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.buffer-capacity:65536}") int bufferCapacity,
+                          @Value("${audit.batch-size:500}") int batchSize,
+                          @Value("${audit.flush-interval:200ms}") Duration flushInterval) {
+        this.batchRepository = batchRepository;
+        this.buffer = new MpscRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.idleParkNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), flushIntervalNanos / 10);
+        this.dropped = Counter.builder("audit.events.dropped").register(meterRegistry);
+        this.failed = Counter.builder("audit.events.failed").register(meterRegistry);
+        Gauge.builder("audit.events.pending", buffer, MpscRingBuffer::size).register(meterRegistry);
+
+        this.writer = Thread.ofPlatform().name("access-audit-writer").daemon().start(this::runWriter);
+    }
+
+    public void record(AuditResourceType resourceType, AuditAction action, String patientId,
+                       String resourceId, String appointmentId) {
+        record(resourceType, action, patientId, resourceId, appointmentId, currentActor());
+    }
+
+    // For reads whose actor is known from the data rather than the authenticated principal
+    public void record(AuditResourceType resourceType, AuditAction action, String patientId,
+                       String resourceId, String appointmentId, String actor) {
+        offer(new AccessEvent(System.currentTimeMillis(), resourceType, action, patientId, resourceId,
+                appointmentId, actor, null));
+    }
+
+    // For reads addressed by stored file path; the writer looks up the owning patient
+    public void recordDocument(AuditAction action, String documentPath, String fileName) {
+        offer(new AccessEvent(System.currentTimeMillis(), AuditResourceType.DOCUMENT, action, null, fileName,
+                null, currentActor(), documentPath));
+    }
+
+    private void offer(AccessEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private void runWriter() {
+        List<AccessEvent> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+        while (running || buffer.size() > 0) {
+            int drained = buffer.drainTo(batch, batchSize - batch.size());
+
+            boolean due = System.nanoTime() - lastFlush >= flushIntervalNanos;
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (due || !running))) {
+                flush(batch);
+                batch.clear();
+                lastFlush = System.nanoTime();
+            } else if (batch.isEmpty()) {
+                lastFlush = System.nanoTime();
+            }
+
+            if (drained == 0 && running) {
+                LockSupport.parkNanos(idleParkNanos);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AccessEvent> batch) {
+        try {
+            Set<String> unresolved = new HashSet<>();
+            Map<String, Long> lastAccess = new HashMap<>();
+            for (AccessEvent event : batch) {
+                if (event.patientId() == null && event.documentPath() != null) {
+                    unresolved.add(event.documentPath());
+                }
+            }
+            Map<String, String> documentPatients = batchRepository.findDocumentPatients(unresolved);
+
+            for (AccessEvent event : batch) {
+                String patientId = event.patientId() != null
+                        ? event.patientId()
+                        : documentPatients.get(event.documentPath());
+                if (patientId != null) {
+                    lastAccess.merge(patientId, event.occurredAtMillis(), Math::max);
+                }
+            }
+
+            batchRepository.insert(batch, documentPatients);
+            batchRepository.touchLastAccessed(lastAccess);
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("Dropped {} access audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
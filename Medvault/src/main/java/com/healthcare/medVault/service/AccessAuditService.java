@@ -0,0 +1,14 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.AccessAuditEntryDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AccessAuditService {
+
+    List<AccessAuditEntryDTO> getPatientAccessLog(String patientId, LocalDateTime from, LocalDateTime to, int limit);
+
+    List<AccessAuditEntryDTO> searchAccessLog(String patientId, String actor, LocalDateTime from, LocalDateTime to,
+                                              int limit);
+}
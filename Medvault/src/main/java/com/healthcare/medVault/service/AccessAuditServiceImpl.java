@@ -0,0 +1,63 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.AccessAuditEntryDTO;
+import com.healthcare.medVault.entity.AccessAuditEntry;
+import com.healthcare.medVault.repository.AccessAuditRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AccessAuditServiceImpl implements AccessAuditService {
+
+    private static final int MAX_ENTRIES = 1000;
+    private static final int DEFAULT_DAYS = 30;
+
+    private final AccessAuditRepository accessAuditRepository;
+
+    @Override
+    public List<AccessAuditEntryDTO> getPatientAccessLog(String patientId, LocalDateTime from, LocalDateTime to,
+                                                         int limit) {
+        return searchAccessLog(patientId, null, from, to, limit);
+    }
+
+    @Override
+    public List<AccessAuditEntryDTO> searchAccessLog(String patientId, String actor, LocalDateTime from,
+                                                     LocalDateTime to, int limit) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(DEFAULT_DAYS);
+        Pageable page = PageRequest.of(0, Math.clamp(limit, 1, MAX_ENTRIES));
+
+        List<AccessAuditEntry> entries;
+        if (patientId != null) {
+            entries = accessAuditRepository.findByPatientIdAndOccurredAtBetweenOrderByOccurredAtDesc(
+                    patientId, start, end, page);
+            if (actor != null) {
+                entries = entries.stream().filter(entry -> actor.equals(entry.getActor())).toList();
+            }
+        } else if (actor != null) {
+            entries = accessAuditRepository.findByActorAndOccurredAtBetweenOrderByOccurredAtDesc(actor, start, end, page);
+        } else {
+            entries = accessAuditRepository.findByOccurredAtBetweenOrderByOccurredAtDesc(start, end, page);
+        }
+        return entries.stream().map(this::convertToDTO).toList();
+    }
+
+    private AccessAuditEntryDTO convertToDTO(AccessAuditEntry entry) {
+        AccessAuditEntryDTO dto = new AccessAuditEntryDTO();
+        dto.setId(entry.getId());
+        dto.setOccurredAt(entry.getOccurredAt());
+        dto.setResourceType(entry.getResourceType().name());
+        dto.setAction(entry.getAction().name());
+        dto.setPatientId(entry.getPatientId());
+        dto.setResourceId(entry.getResourceId());
+        dto.setAppointmentId(entry.getAppointmentId());
+        dto.setActor(entry.getActor());
+        return dto;
+    }
+}
@@ -0,0 +1,72 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.AiJobDTO;
+import com.healthcare.medVault.entity.AiJob;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Tracks SSE subscribers per AI job and pushes the final job state to them
+@Component
+public class AiJobNotifier {
+
+    private final ModelMapper modelMapper;
+    private final long timeoutMillis;
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public AiJobNotifier(ModelMapper modelMapper,
+                         @Value("${ai-jobs.sse-timeout-ms:300000}") long timeoutMillis) {
+        this.modelMapper = modelMapper;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter register(String jobId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+
+        Runnable remove = () -> subscribers.computeIfPresent(jobId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(ex -> remove.run());
+        return emitter;
+    }
+
+    public void sendStatus(SseEmitter emitter, AiJob job) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(toDTO(job)));
+        } catch (IOException | IllegalStateException ex) {
+            emitter.completeWithError(ex);
+        }
+    }
+
+    // Removing the list first means each subscriber is completed exactly once
+    public void publishCompleted(AiJob job) {
+        List<SseEmitter> emitters = subscribers.remove(job.getJobId());
+        if (emitters == null) {
+            return;
+        }
+        AiJobDTO dto = toDTO(job);
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("completed").data(dto));
+                emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+
+    public AiJobDTO toDTO(AiJob job) {
+        return modelMapper.map(job, AiJobDTO.class);
+    }
+}
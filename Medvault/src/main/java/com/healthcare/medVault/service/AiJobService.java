@@ -0,0 +1,16 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.AiJobDTO;
+import com.healthcare.medVault.helper.AiJobType;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+public interface AiJobService {
+    AiJobDTO submitFileJob(AiJobType type, List<MultipartFile> files);
+    AiJobDTO submitPredictionJob(Map<String, Object> payload);
+    AiJobDTO getJob(String jobId);
+    SseEmitter subscribe(String jobId);
+}
@@ -0,0 +1,146 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.medVault.dto.AiJobDTO;
+import com.healthcare.medVault.dto.AiJobFile;
+import com.healthcare.medVault.entity.AiJob;
+import com.healthcare.medVault.exception.ResourceNotFoundException;
+import com.healthcare.medVault.exception.ValidationException;
+import com.healthcare.medVault.helper.AiJobStatus;
+import com.healthcare.medVault.helper.AiJobType;
+import com.healthcare.medVault.repository.AiJobRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class AiJobServiceImpl implements AiJobService {
+
+    private final AiJobRepository aiJobRepository;
+    private final AiJobWorker aiJobWorker;
+    private final AiJobNotifier aiJobNotifier;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ai-jobs.spool-dir:uploads/ai-jobs}")
+    private String spoolDir;
+
+    @Value("${ai-jobs.max-files:20}")
+    private int maxFiles;
+
+    private Path spoolLocation;
+
+    @PostConstruct
+    public void init() {
+        try {
+            this.spoolLocation = Paths.get(spoolDir).toAbsolutePath().normalize();
+            Files.createDirectories(this.spoolLocation);
+        } catch (Exception ex) {
+            throw new RuntimeException("Could not create the directory where AI job inputs will be stored.", ex);
+        }
+    }
+
+    @Override
+    public AiJobDTO submitFileJob(AiJobType type, List<MultipartFile> files) {
+        if (type == AiJobType.PREDICT) {
+            throw new ValidationException("Prediction jobs are submitted to /api/inference/jobs");
+        }
+        if (files == null || files.isEmpty()) {
+            throw new ValidationException("At least one file is required");
+        }
+        if (files.size() > maxFiles) {
+            throw new ValidationException("At most " + maxFiles + " files can be submitted in one job");
+        }
+        if (type == AiJobType.EXTRACT_MEDICINES && files.size() > 1) {
+            throw new ValidationException("Medicine extraction accepts a single prescription image");
+        }
+
+        // Spool the uploads so the request can return before the servlet temp files are cleaned up
+        String jobId = UUID.randomUUID().toString();
+        Path jobDir = spoolLocation.resolve(jobId);
+        List<AiJobFile> spooled = new ArrayList<>();
+        try {
+            Files.createDirectories(jobDir);
+            for (int i = 0; i < files.size(); i++) {
+                MultipartFile file = files.get(i);
+                Path target = jobDir.resolve(String.valueOf(i));
+                file.transferTo(target);
+                spooled.add(new AiJobFile(file.getOriginalFilename(), file.getContentType(), target.toString()));
+            }
+            return enqueue(jobId, type, objectMapper.writeValueAsString(spooled));
+        } catch (IOException ex) {
+            try {
+                FileSystemUtils.deleteRecursively(jobDir);
+            } catch (IOException ignored) {
+                // Best effort; the spool directory is only scratch space
+            }
+            throw new RuntimeException("Could not store files for the AI job. Please try again!", ex);
+        }
+    }
+
+    @Override
+    public AiJobDTO submitPredictionJob(Map<String, Object> payload) {
+        if (payload == null || payload.isEmpty()) {
+            throw new ValidationException("Prediction payload is required");
+        }
+        try {
+            return enqueue(UUID.randomUUID().toString(), AiJobType.PREDICT, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException ex) {
+            throw new ValidationException("Prediction payload is not valid JSON");
+        }
+    }
+
+    @Override
+    public AiJobDTO getJob(String jobId) {
+        return aiJobNotifier.toDTO(findJob(jobId));
+    }
+
+    @Override
+    public SseEmitter subscribe(String jobId) {
+        findJob(jobId);
+        SseEmitter emitter = aiJobNotifier.register(jobId);
+
+        // Re-read after registering so a job finishing in between is not missed
+        AiJob job = findJob(jobId);
+        aiJobNotifier.sendStatus(emitter, job);
+        if (isFinished(job)) {
+            aiJobNotifier.publishCompleted(job);
+        }
+        return emitter;
+    }
+
+    private AiJobDTO enqueue(String jobId, AiJobType type, String input) {
+        AiJob job = new AiJob();
+        job.setJobId(jobId);
+        job.setType(type);
+        job.setStatus(AiJobStatus.QUEUED);
+        job.setInput(input);
+        AiJob saved = aiJobRepository.save(job);
+
+        aiJobWorker.submit(saved.getJobId());
+        return aiJobNotifier.toDTO(saved);
+    }
+
+    private AiJob findJob(String jobId) {
+        return aiJobRepository.findByJobId(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("AI job not found with id: " + jobId));
+    }
+
+    private boolean isFinished(AiJob job) {
+        return job.getStatus() == AiJobStatus.SUCCEEDED || job.getStatus() == AiJobStatus.FAILED;
+    }
+}
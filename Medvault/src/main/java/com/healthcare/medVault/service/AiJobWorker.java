@@ -0,0 +1,288 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.healthcare.medVault.dto.AiJobFile;
+import com.healthcare.medVault.dto.SummaryBatchEvent;
+import com.healthcare.medVault.entity.AiJob;
+import com.healthcare.medVault.helper.AiJobStatus;
+import com.healthcare.medVault.helper.AiJobType;
+import com.healthcare.medVault.repository.AiJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs queued AI jobs on virtual threads. A semaphore caps concurrent upstream calls and a
+ * simple pacing limiter spaces their start times, so a burst of jobs queues here instead of
+ * tripping the model provider's rate limits. Transport failures, 429 and 5xx responses are
+ * retried with exponential backoff and jitter. Jobs left QUEUED or RUNNING by a restart are
+ * picked up again once the application is ready.
+ */
+@Slf4j
+@Component
+public class AiJobWorker {
+
+    private static final TypeReference<List<AiJobFile>> FILE_LIST = new TypeReference<>() {};
+
+    private final AiJobRepository aiJobRepository;
+    private final SummaryServiceClient summaryServiceClient;
+    private final ModelServiceClient modelServiceClient;
+    private final AiJobNotifier aiJobNotifier;
+    private final ObjectMapper objectMapper;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration callTimeout;
+    private final Semaphore concurrency;
+    private final long permitIntervalNanos;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Object pacingLock = new Object();
+    private long nextPermitAt = System.nanoTime();
+
+    public AiJobWorker(AiJobRepository aiJobRepository,
+                       SummaryServiceClient summaryServiceClient,
+                       ModelServiceClient modelServiceClient,
+                       AiJobNotifier aiJobNotifier,
+                       ObjectMapper objectMapper,
+                       @Value("${ai-jobs.max-concurrency:4}") int maxConcurrency,
+                       @Value("${ai-jobs.requests-per-second:2}") double requestsPerSecond,
+                       @Value("${ai-jobs.max-attempts:3}") int maxAttempts,
+                       @Value("${ai-jobs.retry-backoff:2s}") Duration retryBackoff,
+                       @Value("${ai-jobs.call-timeout:120s}") Duration callTimeout) {
+        this.aiJobRepository = aiJobRepository;
+        this.summaryServiceClient = summaryServiceClient;
+        this.modelServiceClient = modelServiceClient;
+        this.aiJobNotifier = aiJobNotifier;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+        this.callTimeout = callTimeout;
+        this.concurrency = new Semaphore(Math.max(1, maxConcurrency), true);
+        this.permitIntervalNanos = requestsPerSecond > 0 ? (long) (1_000_000_000L / requestsPerSecond) : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        List<AiJob> pending = aiJobRepository.findByStatusInOrderByCreatedAtAsc(
+                List.of(AiJobStatus.QUEUED, AiJobStatus.RUNNING));
+        pending.forEach(job -> submit(job.getJobId()));
+        if (!pending.isEmpty()) {
+            log.info("Resumed {} pending AI jobs", pending.size());
+        }
+    }
+
+    public void submit(String jobId) {
+        if (inFlight.add(jobId)) {
+            executor.submit(() -> process(jobId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(String jobId) {
+        AiJob job = null;
+        try {
+            job = aiJobRepository.findByJobId(jobId).orElse(null);
+            while (job != null && !isFinished(job)) {
+                job.setStatus(AiJobStatus.RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job = aiJobRepository.save(job);
+
+                Outcome outcome;
+                concurrency.acquire();
+                try {
+                    awaitPacing();
+                    outcome = execute(job);
+                } finally {
+                    concurrency.release();
+                }
+
+                job.setUpstreamStatus(outcome.upstreamStatus());
+                job.setResult(outcome.body());
+                job.setError(outcome.error());
+                if (outcome.succeeded() || !outcome.retryable() || job.getAttempts() >= maxAttempts) {
+                    job.setStatus(outcome.succeeded() ? AiJobStatus.SUCCEEDED : AiJobStatus.FAILED);
+                    job.setCompletedAt(LocalDateTime.now());
+                    job = aiJobRepository.save(job);
+                    aiJobNotifier.publishCompleted(job);
+                } else {
+                    job.setStatus(AiJobStatus.QUEUED);
+                    job = aiJobRepository.save(job);
+                    TimeUnit.MILLISECONDS.sleep(backoffMillis(job.getAttempts()));
+                }
+            }
+        } catch (InterruptedException ex) {
+            // Shutting down; the job stays pending and is resumed on the next start
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            log.error("AI job {} could not be processed", jobId, ex);
+        } finally {
+            inFlight.remove(jobId);
+            if (job != null && isFinished(job)) {
+                deleteSpooledFiles(job);
+            }
+        }
+    }
+
+    private Outcome execute(AiJob job) {
+        try {
+            ResponseEntity<String> response = switch (job.getType()) {
+                case SUMMARIZE -> summarize(readFiles(job));
+                case EXTRACT_MEDICINES -> summaryServiceClient
+                        .fetch(SummaryServiceClient.EXTRACT_MEDICINES_PATH, toSource(readFiles(job).get(0)))
+                        .block(callTimeout);
+                case PREDICT -> modelServiceClient.predict(objectMapper.readTree(job.getInput())).block(callTimeout);
+            };
+            return classify(response);
+        } catch (IOException ex) {
+            return new Outcome(false, false, null, null, "Job input is unreadable: " + ex.getMessage());
+        } catch (RuntimeException ex) {
+            Throwable cause = Exceptions.unwrap(ex);
+            // A missing spool file will not reappear; anything else is treated as transient
+            boolean retryable = !(cause instanceof IOException);
+            return new Outcome(false, retryable, null, null, String.valueOf(cause.getMessage()));
+        }
+    }
+
+    private ResponseEntity<String> summarize(List<AiJobFile> files) throws JsonProcessingException {
+        if (files.size() == 1) {
+            return summaryServiceClient.fetch(SummaryServiceClient.SUMMARIZE_PATH, toSource(files.get(0)))
+                    .block(callTimeout);
+        }
+
+        List<SummaryBatchEvent> events = summaryServiceClient
+                .summarizeSources(files.stream().map(this::toSource).toList())
+                .collectList()
+                .block(callTimeout);
+        if (events == null || events.isEmpty()) {
+            throw new IllegalStateException("Summary service returned no results");
+        }
+
+        SummaryBatchEvent merged = events.get(events.size() - 1);
+        ObjectNode body = objectMapper.createObjectNode();
+        if ("ok".equals(merged.getStatus())) {
+            body.put("summary", merged.getSummary());
+        } else {
+            body.put("error", merged.getError());
+        }
+        body.set("files", objectMapper.valueToTree(events.subList(0, events.size() - 1)));
+        return ResponseEntity.ok(objectMapper.writeValueAsString(body));
+    }
+
+    // Upstream services report model failures as 200 responses with an "error" field; those are not retried
+    private Outcome classify(ResponseEntity<String> response) {
+        if (response == null) {
+            return new Outcome(false, true, null, null, "Empty response from upstream service");
+        }
+        int status = response.getStatusCode().value();
+        String body = response.getBody();
+        if (status == 429 || response.getStatusCode().is5xxServerError()) {
+            return new Outcome(false, true, status, null, "Upstream service responded with " + status);
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return new Outcome(false, false, status, null, "Upstream service responded with " + status);
+        }
+
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            if (node == null || node.isMissingNode()) {
+                return new Outcome(false, false, status, null, "Upstream service returned an empty body");
+            }
+            if (node.has("error")) {
+                return new Outcome(false, false, status, body, node.get("error").asText());
+            }
+            return new Outcome(true, false, status, body, null);
+        } catch (JsonProcessingException ex) {
+            return new Outcome(false, false, status, null, "Upstream service returned invalid JSON");
+        }
+    }
+
+    private void awaitPacing() throws InterruptedException {
+        if (permitIntervalNanos == 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (pacingLock) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextPermitAt);
+            nextPermitAt = slot + permitIntervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    // Exponential backoff with jitter between half and the full delay
+    private long backoffMillis(int attempt) {
+        long base = retryBackoff.toMillis() << Math.min(attempt - 1, 6);
+        return base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+    }
+
+    private List<AiJobFile> readFiles(AiJob job) throws IOException {
+        return objectMapper.readValue(job.getInput(), FILE_LIST);
+    }
+
+    private SummaryServiceClient.SummarySource toSource(AiJobFile file) {
+        return new SummaryServiceClient.SummarySource(new FileSystemResource(file.path()), file.fileName(),
+                file.contentType());
+    }
+
+    private void deleteSpooledFiles(AiJob job) {
+        if (job.getType() == AiJobType.PREDICT) {
+            return;
+        }
+        try {
+            List<AiJobFile> files = readFiles(job);
+            for (AiJobFile file : files) {
+                Path path = Path.of(file.path());
+                Files.deleteIfExists(path);
+                Path parent = path.getParent();
+                if (parent != null) {
+                    try (var entries = Files.list(parent)) {
+                        if (entries.findAny().isEmpty()) {
+                            Files.deleteIfExists(parent);
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not delete spooled files for AI job {}", job.getJobId(), ex);
+        }
+    }
+
+    private boolean isFinished(AiJob job) {
+        return job.getStatus() == AiJobStatus.SUCCEEDED || job.getStatus() == AiJobStatus.FAILED;
+    }
+
+    private record Outcome(boolean succeeded, boolean retryable, Integer upstreamStatus, String body, String error) {
+    }
+}
@@ -30,6 +30,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final SlotRepository slotRepository;
+    private final DoctorRecordViewStore recordViews;
 
     @Override
     @Transactional
@@ -80,6 +81,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        recordViews.appointmentChanged(id);
         return convertToDTO(updatedAppointment);
     }
 
@@ -180,7 +182,7 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     @Override
     public List<AppointmentResponseDTO> getAllAppointments() {
-        return appointmentRepository.findAll()
+        return appointmentRepository.findAllWithDetails()
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -198,6 +200,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         slotRepository.save(slot);
 
         appointmentRepository.delete(appointment);
+        recordViews.appointmentChanged(id);
     }
 
     private AppointmentResponseDTO convertToDTO(Appointment appointment) {
@@ -0,0 +1,16 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.HealthDocumentDTO;
+import com.healthcare.medVault.dto.UploadSessionDTO;
+import com.healthcare.medVault.dto.UploadSessionRequestDTO;
+
+import java.io.InputStream;
+
+public interface ChunkedUploadService {
+    UploadSessionDTO createSession(String patientId, UploadSessionRequestDTO request);
+    UploadSessionDTO getSession(String uploadId);
+    UploadSessionDTO writeChunk(String uploadId, int chunkIndex, String checksumHeader, InputStream content);
+    HealthDocumentDTO completeSession(String uploadId);
+    void abortSession(String uploadId);
+    int cleanupExpiredSessions();
+}
@@ -0,0 +1,384 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.HealthDocumentDTO;
+import com.healthcare.medVault.dto.UploadSessionDTO;
+import com.healthcare.medVault.dto.UploadSessionRequestDTO;
+import com.healthcare.medVault.entity.UploadChunk;
+import com.healthcare.medVault.entity.UploadSession;
+import com.healthcare.medVault.exception.ResourceNotFoundException;
+import com.healthcare.medVault.exception.ValidationException;
+import com.healthcare.medVault.helper.UploadSessionStatus;
+import com.healthcare.medVault.repository.UploadChunkRepository;
+import com.healthcare.medVault.repository.UploadSessionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadChunkRepository chunkRepository;
+    private final HealthDocumentService healthDocumentService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${file.upload-temp-dir:uploads/partial}")
+    private String tempDir;
+
+    @Value("${upload.max-file-size:1073741824}")
+    private long maxFileSize;
+
+    @Value("${upload.chunk.min-size:65536}")
+    private int minChunkSize;
+
+    @Value("${upload.chunk.max-size:16777216}")
+    private int maxChunkSize;
+
+    @Value("${upload.session.ttl-hours:24}")
+    private long sessionTtlHours;
+
+    private Path tempLocation;
+
+    @PostConstruct
+    public void init() {
+        try {
+            this.tempLocation = Paths.get(tempDir).toAbsolutePath().normalize();
+            Files.createDirectories(this.tempLocation);
+        } catch (Exception ex) {
+            throw new RuntimeException("Could not create the directory where partial uploads will be stored.", ex);
+        }
+    }
+
+    @Override
+    @Transactional
+    public UploadSessionDTO createSession(String patientId, UploadSessionRequestDTO request) {
+        if (request.getFileName() == null || request.getFileName().isBlank()) {
+            throw new ValidationException("File name is required");
+        }
+        if (request.getDocumentType() == null) {
+            throw new ValidationException("Document type is required");
+        }
+        if (request.getTotalSize() == null || request.getTotalSize() <= 0 || request.getTotalSize() > maxFileSize) {
+            throw new ValidationException("File size must be between 1 and " + maxFileSize + " bytes");
+        }
+        if (request.getChunkSize() == null || request.getChunkSize() < minChunkSize || request.getChunkSize() > maxChunkSize) {
+            throw new ValidationException("Chunk size must be between " + minChunkSize + " and " + maxChunkSize + " bytes");
+        }
+
+        long totalChunks = (request.getTotalSize() + request.getChunkSize() - 1) / request.getChunkSize();
+        Path partialFile = tempLocation.resolve(java.util.UUID.randomUUID() + ".part");
+
+        // Preallocate the full file so every chunk can be written straight to its offset
+        try (RandomAccessFile raf = new RandomAccessFile(partialFile.toFile(), "rw")) {
+            raf.setLength(request.getTotalSize());
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not allocate upload file. Please try again!", ex);
+        }
+
+        UploadSession session = new UploadSession();
+        session.setPatientId(patientId);
+        session.setFileName(request.getFileName());
+        session.setDocumentType(request.getDocumentType());
+        session.setDescription(request.getDescription());
+        session.setTotalSize(request.getTotalSize());
+        session.setChunkSize(request.getChunkSize());
+        session.setTotalChunks((int) totalChunks);
+        session.setFileChecksum(request.getChecksum() != null ? request.getChecksum().toLowerCase() : null);
+        session.setTempPath(partialFile.toString());
+        session.setStatus(UploadSessionStatus.ACTIVE);
+        session.setExpiresAt(LocalDateTime.now().plusHours(sessionTtlHours));
+
+        UploadSession savedSession = sessionRepository.save(session);
+        return convertToDTO(savedSession, List.of());
+    }
+
+    @Override
+    public UploadSessionDTO getSession(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        return convertToDTO(session, chunkRepository.findChunkIndexesByUploadId(uploadId));
+    }
+
+    @Override
+    public UploadSessionDTO writeChunk(String uploadId, int chunkIndex, String checksumHeader, InputStream content) {
+        UploadSession session = findActiveSession(uploadId);
+
+        if (chunkIndex < 0 || chunkIndex >= session.getTotalChunks()) {
+            throw new ValidationException("Chunk index out of range: " + chunkIndex);
+        }
+
+        MessageDigest digest = digestFor(checksumHeader);
+        long offset = (long) chunkIndex * session.getChunkSize();
+        int expectedLength = (int) Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+
+        // The chunk is staged and verified before it touches the partial file, so a retry that fails
+        // its checksum cannot overwrite a range that was already recorded as good
+        Path staged = tempLocation.resolve(java.util.UUID.randomUUID() + ".chunk");
+        try {
+            stageChunk(staged, chunkIndex, expectedLength, digest, content);
+
+            String actualChecksum = Base64.getEncoder().encodeToString(digest.digest());
+            if (checksumHeader != null && !actualChecksum.equals(checksumValue(checksumHeader))) {
+                throw new ValidationException("Checksum mismatch for chunk " + chunkIndex);
+            }
+
+            // Copied under the session row lock, so an abort or the expiry sweep cannot delete the
+            // partial file mid-write; the network read above happens before the lock is taken
+            transactionTemplate.executeWithoutResult(status -> {
+                UploadSession locked = findSessionForUpdate(uploadId);
+                ensureActive(locked);
+                copyChunk(staged, Paths.get(locked.getTempPath()), offset, chunkIndex);
+                recordChunk(uploadId, chunkIndex, expectedLength, actualChecksum);
+            });
+        } finally {
+            try {
+                Files.deleteIfExists(staged);
+            } catch (IOException ignored) {
+                // Only wasted space; the chunk has already been copied or rejected
+            }
+        }
+
+        return convertToDTO(session, chunkRepository.findChunkIndexesByUploadId(uploadId));
+    }
+
+    // Streams the request body to a staging file; nothing larger than the copy buffer is held in memory
+    private void stageChunk(Path staged, int chunkIndex, int expectedLength, MessageDigest digest, InputStream content) {
+        int written = 0;
+        try (OutputStream out = Files.newOutputStream(staged, StandardOpenOption.CREATE_NEW)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                if (written + read > expectedLength) {
+                    throw new ValidationException("Chunk " + chunkIndex + " exceeds its expected size of " + expectedLength + " bytes");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                written += read;
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not write chunk " + chunkIndex + ". Please retry it.", ex);
+        }
+
+        if (written != expectedLength) {
+            throw new ValidationException("Chunk " + chunkIndex + " is incomplete: received " + written + " of " + expectedLength + " bytes");
+        }
+    }
+
+    private void copyChunk(Path staged, Path partialFile, long offset, int chunkIndex) {
+        try (FileChannel source = FileChannel.open(staged, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(partialFile, StandardOpenOption.WRITE)) {
+            long size = source.size();
+            long copied = 0;
+            while (copied < size) {
+                copied += source.transferTo(copied, size - copied, target.position(offset + copied));
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not write chunk " + chunkIndex + ". Please retry it.", ex);
+        }
+    }
+
+    @Override
+    @Transactional
+    public HealthDocumentDTO completeSession(String uploadId) {
+        // A retried complete waits here and then sees COMPLETED instead of moving the file a second time
+        UploadSession session = findSessionForUpdate(uploadId);
+
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) {
+            return healthDocumentService.getDocumentById(session.getDocumentId(), session.getPatientId());
+        }
+        ensureActive(session);
+
+        long receivedChunks = chunkRepository.countByUploadId(uploadId);
+        if (receivedChunks != session.getTotalChunks()) {
+            throw new ValidationException("Upload is incomplete: " + receivedChunks + " of " + session.getTotalChunks() + " chunks received");
+        }
+
+        Path partialFile = Paths.get(session.getTempPath());
+        if (session.getFileChecksum() != null && !session.getFileChecksum().equals(sha256Hex(partialFile))) {
+            throw new ValidationException("Checksum mismatch for uploaded file " + session.getFileName());
+        }
+
+        HealthDocumentDTO document = healthDocumentService.storeUploadedDocument(session.getPatientId(), partialFile,
+                session.getFileName(), session.getDocumentType(), session.getDescription());
+
+        session.setStatus(UploadSessionStatus.COMPLETED);
+        session.setDocumentId(document.getId());
+        sessionRepository.save(session);
+        chunkRepository.deleteByUploadId(uploadId);
+
+        return document;
+    }
+
+    @Override
+    @Transactional
+    public void abortSession(String uploadId) {
+        UploadSession session = findSessionForUpdate(uploadId);
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) {
+            throw new ValidationException("Upload " + uploadId + " is already completed");
+        }
+        discard(session);
+    }
+
+    // Expired sessions still hold a preallocated file of their full size, so they are swept rather
+    // than left until a client aborts them
+    @Override
+    @Transactional
+    public int cleanupExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        int aborted = 0;
+        for (String uploadId : sessionRepository.findUploadIdsByStatusAndExpiresAtBefore(UploadSessionStatus.ACTIVE, now)) {
+            UploadSession session = findSessionForUpdate(uploadId);
+            // Completed or aborted while the sweep was running
+            if (session.getStatus() == UploadSessionStatus.ACTIVE && session.getExpiresAt().isBefore(now)) {
+                discard(session);
+                aborted++;
+            }
+        }
+        return aborted;
+    }
+
+    private void discard(UploadSession session) {
+        try {
+            Files.deleteIfExists(Paths.get(session.getTempPath()));
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not delete partial upload. Please try again!", ex);
+        }
+
+        session.setStatus(UploadSessionStatus.ABORTED);
+        sessionRepository.save(session);
+        chunkRepository.deleteByUploadId(session.getUploadId());
+    }
+
+    // Runs under the session lock, so concurrent retries of the same chunk cannot both insert it.
+    // A verified retry overwrote the same byte range, so the record takes its checksum.
+    private void recordChunk(String uploadId, int chunkIndex, int size, String checksum) {
+        UploadChunk chunk = chunkRepository.findByUploadIdAndChunkIndex(uploadId, chunkIndex)
+                .orElseGet(UploadChunk::new);
+        chunk.setUploadId(uploadId);
+        chunk.setChunkIndex(chunkIndex);
+        chunk.setSize(size);
+        chunk.setChecksum(checksum);
+        chunkRepository.save(chunk);
+    }
+
+    private UploadSession findSession(String uploadId) {
+        return sessionRepository.findByUploadId(uploadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found with id: " + uploadId));
+    }
+
+    private UploadSession findSessionForUpdate(String uploadId) {
+        return sessionRepository.findForUpdateByUploadId(uploadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found with id: " + uploadId));
+    }
+
+    private UploadSession findActiveSession(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        ensureActive(session);
+        return session;
+    }
+
+    private void ensureActive(UploadSession session) {
+        if (session.getStatus() != UploadSessionStatus.ACTIVE) {
+            throw new ValidationException("Upload " + session.getUploadId() + " is " + session.getStatus());
+        }
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ValidationException("Upload " + session.getUploadId() + " has expired");
+        }
+    }
+
+    // Checksum header follows the tus convention: "<algorithm> <base64 digest>"
+    private MessageDigest digestFor(String checksumHeader) {
+        String algorithm = "sha256";
+        if (checksumHeader != null) {
+            String[] parts = checksumHeader.trim().split("\\s+");
+            if (parts.length != 2) {
+                throw new ValidationException("Invalid Upload-Checksum header");
+            }
+            algorithm = parts[0].toLowerCase();
+        }
+
+        try {
+            switch (algorithm) {
+                case "sha256":
+                    return MessageDigest.getInstance("SHA-256");
+                case "sha1":
+                    return MessageDigest.getInstance("SHA-1");
+                case "md5":
+                    return MessageDigest.getInstance("MD5");
+                default:
+                    throw new ValidationException("Unsupported checksum algorithm: " + algorithm);
+            }
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException("Checksum algorithm not available: " + algorithm, ex);
+        }
+    }
+
+    private String checksumValue(String checksumHeader) {
+        return checksumHeader.trim().split("\\s+")[1];
+    }
+
+    private String sha256Hex(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            throw new RuntimeException("Could not verify uploaded file", ex);
+        }
+    }
+
+    private UploadSessionDTO convertToDTO(UploadSession session, List<Integer> receivedChunks) {
+        Set<Integer> received = new HashSet<>(receivedChunks);
+        List<Integer> missing = new ArrayList<>();
+        long bytesReceived = 0;
+        for (int i = 0; i < session.getTotalChunks(); i++) {
+            if (received.contains(i)) {
+                bytesReceived += Math.min(session.getChunkSize(), session.getTotalSize() - (long) i * session.getChunkSize());
+            } else if (session.getStatus() == UploadSessionStatus.ACTIVE) {
+                missing.add(i);
+            }
+        }
+
+        UploadSessionDTO dto = new UploadSessionDTO();
+        dto.setUploadId(session.getUploadId());
+        dto.setPatientId(session.getPatientId());
+        dto.setFileName(session.getFileName());
+        dto.setTotalSize(session.getTotalSize());
+        dto.setChunkSize(session.getChunkSize());
+        dto.setTotalChunks(session.getTotalChunks());
+        dto.setMissingChunks(missing);
+        dto.setBytesReceived(session.getStatus() == UploadSessionStatus.COMPLETED ? session.getTotalSize() : bytesReceived);
+        dto.setStatus(session.getStatus());
+        dto.setDocumentId(session.getDocumentId());
+        dto.setExpiresAt(session.getExpiresAt());
+        return dto;
+    }
+}
@@ -0,0 +1,251 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.healthcare.medVault.dto.PatientMedicalRecordAccessDTO;
+import com.healthcare.medVault.entity.Appointment;
+import com.healthcare.medVault.entity.DoctorRecordView;
+import com.healthcare.medVault.entity.PatientHealthRecord;
+import com.healthcare.medVault.helper.HealthRecordSection;
+import com.healthcare.medVault.repository.AppointmentRepository;
+import com.healthcare.medVault.repository.DoctorRecordViewRepository;
+import com.healthcare.medVault.repository.PatientHealthRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Per-appointment read model of the medical record a doctor opens during a consultation. The
+ * doctor_record_views row is built when a document permission is approved (or on first open) and
+ * every section write copies the doctor-visible sections into the patient's rows in the same
+ * transaction, so opening the record is a cache hit, or a primary-key read, instead of loading and
+ * deserializing the whole health record. Views are kept, cached and current until the appointment's
+ * slot ends plus a grace period; after that the row is pruned and the record built on demand.
+ */
+@Component
+public class DoctorRecordViewStore {
+
+    private static final String CACHE_NAME = "doctor_record_views";
+    private static final Set<HealthRecordSection> VIEW_SECTIONS = EnumSet.of(
+            HealthRecordSection.BASIC_DEMOGRAPHICS, HealthRecordSection.MEDICAL_HISTORY,
+            HealthRecordSection.LIFESTYLE, HealthRecordSection.CURRENT_HEALTH, HealthRecordSection.DOCUMENTS);
+
+    public record View(String patientId, String patientName, String doctorUsername, LocalDateTime appointmentAt,
+                       Long healthRecordId, PatientMedicalRecordAccessDTO.MedicalRecord medicalRecord,
+                       LocalDateTime windowEndsAt) {
+    }
+
+    private final DoctorRecordViewRepository viewRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final PatientHealthRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final HealthRecordSectionCodec sectionCodec;
+    private final Duration grace;
+    private final Duration ttl;
+    private final Cache<Long, View> cache;
+
+    public DoctorRecordViewStore(DoctorRecordViewRepository viewRepository,
+                                 AppointmentRepository appointmentRepository,
+                                 PatientHealthRecordRepository recordRepository,
+                                 ObjectMapper objectMapper,
+                                 HealthRecordSectionCodec sectionCodec,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${medical-records.view-cache.max-entries:5000}") long maxEntries,
+                                 @Value("${medical-records.view-cache.grace:1h}") Duration grace,
+                                 @Value("${medical-records.view-cache.ttl:5m}") Duration ttl) {
+        this.viewRepository = viewRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.sectionCodec = sectionCodec;
+        this.grace = grace;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.writing((Long appointmentId, View view) -> lifetime(view)))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public View getView(Long appointmentId) {
+        return cache.get(appointmentId, this::load);
+    }
+
+    // Called on approval so the doctor's first open is already a cache hit
+    public void build(Long appointmentId) {
+        DoctorRecordView row = viewRepository.save(buildRow(appointmentId));
+        View view = toView(row);
+        afterCommit(() -> cache.put(appointmentId, view));
+    }
+
+    // Copies the written doctor-visible sections into the patient's live views, so the cost follows
+    // the appointments still in their window rather than the patient's whole history
+    public void sectionsWritten(String patientId, Map<HealthRecordSection, String> columns) {
+        LocalDateTime cutoff = liveCutoff();
+        int updated = 0;
+        for (Map.Entry<HealthRecordSection, String> entry : columns.entrySet()) {
+            if (VIEW_SECTIONS.contains(entry.getKey())) {
+                String json = entry.getValue() != null ? entry.getValue() : "null";
+                updated += viewRepository.updateSection(patientId, "$." + entry.getKey().getKey(), json, cutoff);
+            }
+        }
+        if (updated > 0) {
+            evictAfterCommit(viewRepository.findAppointmentIdsByPatientId(patientId));
+        }
+    }
+
+    // A created or deleted record changes every view of the patient; they are rebuilt on next open
+    public void recordReplaced(String patientId) {
+        Iterable<Long> appointmentIds = viewRepository.findAppointmentIdsByPatientId(patientId);
+        viewRepository.deleteByPatientId(patientId);
+        evictAfterCommit(appointmentIds);
+    }
+
+    // A rescheduled or deleted appointment changes the view's date and window
+    public void appointmentChanged(Long appointmentId) {
+        viewRepository.deleteById(appointmentId);
+        evictAfterCommit(Set.of(appointmentId));
+    }
+
+    // Views past their window plus grace are no longer kept current, so their copies are dropped
+    public int pruneEnded() {
+        return viewRepository.pruneEndedBefore(liveCutoff());
+    }
+
+    private View load(Long appointmentId) {
+        Optional<DoctorRecordView> stored = viewRepository.findById(appointmentId);
+        // Rows built before the doctor was kept are rebuilt so their views can be attributed; ended
+        // rows are no longer kept current, so they are rebuilt too until the prune removes them
+        if (stored.isPresent() && stored.get().getDoctorUsername() != null && !ended(stored.get())) {
+            return toView(stored.get());
+        }
+
+        DoctorRecordView row = buildRow(appointmentId);
+        // An ended appointment is served from a fresh build without storing a copy that would go stale
+        if (ended(row)) {
+            return toView(row);
+        }
+        try {
+            viewRepository.save(row);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent request built the row first
+        }
+        return toView(row);
+    }
+
+    private DoctorRecordView buildRow(Long appointmentId) {
+        Appointment appointment = appointmentRepository.findWithDetailsById(appointmentId)
+                .orElseThrow(() -> new RuntimeException("Appointment not found"));
+        String patientId = appointment.getPatient().getId().toString();
+
+        DoctorRecordView row = new DoctorRecordView();
+        row.setAppointmentId(appointmentId);
+        row.setPatientId(patientId);
+        row.setPatientName(appointment.getPatient().getFirstName() + " " + appointment.getPatient().getLastName());
+        row.setDoctorUsername(appointment.getDoctor().getUser().getUsername());
+        row.setAppointmentAt(appointment.getAppointmentDateTime());
+        if (appointment.getSlot() != null) {
+            row.setWindowEndsAt(LocalDateTime.of(appointment.getSlot().getDate(), appointment.getSlot().getTimeTo()));
+        }
+        recordRepository.findByPatientId(patientId).ifPresent(record -> {
+            row.setHealthRecordId(record.getId());
+            row.setMedicalRecord(medicalRecordJson(record));
+        });
+        row.setBuiltAt(LocalDateTime.now());
+        return row;
+    }
+
+    // The sections are copied as stored; nothing is bound to DTOs until the view is read
+    private String medicalRecordJson(PatientHealthRecord record) {
+        ObjectNode medicalRecord = objectMapper.createObjectNode();
+        for (HealthRecordSection section : VIEW_SECTIONS) {
+            String json = sectionCodec.columnJson(record, section);
+            try {
+                medicalRecord.set(section.getKey(), json != null ? sectionCodec.readTree(json) : NullNode.getInstance());
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Error reading health record section " + section.getKey(), e);
+            }
+        }
+        return medicalRecord.toString();
+    }
+
+    private View toView(DoctorRecordView row) {
+        PatientMedicalRecordAccessDTO.MedicalRecord medicalRecord = null;
+        if (row.getMedicalRecord() != null) {
+            try {
+                JsonNode sections = sectionCodec.readTree(row.getMedicalRecord());
+                medicalRecord = new PatientMedicalRecordAccessDTO.MedicalRecord();
+                medicalRecord.setBasicDemographics(section(sections, HealthRecordSection.BASIC_DEMOGRAPHICS));
+                medicalRecord.setMedicalHistory(section(sections, HealthRecordSection.MEDICAL_HISTORY));
+                medicalRecord.setLifestyle(section(sections, HealthRecordSection.LIFESTYLE));
+                medicalRecord.setCurrentHealth(section(sections, HealthRecordSection.CURRENT_HEALTH));
+                medicalRecord.setDocuments(section(sections, HealthRecordSection.DOCUMENTS));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                throw new RuntimeException("Error reading medical record for appointment " + row.getAppointmentId(), e);
+            }
+        }
+        return new View(row.getPatientId(), row.getPatientName(), row.getDoctorUsername(), row.getAppointmentAt(),
+                row.getHealthRecordId(), medicalRecord, row.getWindowEndsAt());
+    }
+
+    private <T> T section(JsonNode sections, HealthRecordSection section) {
+        JsonNode node = sections.get(section.getKey());
+        return node == null || node.isNull() ? null : sectionCodec.convert(section, node);
+    }
+
+    private boolean ended(DoctorRecordView row) {
+        return row.getWindowEndsAt() != null && row.getWindowEndsAt().isBefore(liveCutoff());
+    }
+
+    private LocalDateTime liveCutoff() {
+        return LocalDateTime.now().minus(grace);
+    }
+
+    // Until the end of the appointment plus a grace period, and never less than the base TTL
+    private Duration lifetime(View view) {
+        if (view.windowEndsAt() != null) {
+            Duration remaining = Duration.between(LocalDateTime.now(), view.windowEndsAt().plus(grace));
+            if (remaining.compareTo(ttl) > 0) {
+                return remaining;
+            }
+        }
+        return ttl;
+    }
+
+    // Evicting after commit keeps a concurrent reader from caching the pre-write row
+    private void evictAfterCommit(Iterable<Long> appointmentIds) {
+        afterCommit(() -> cache.invalidateAll(appointmentIds));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
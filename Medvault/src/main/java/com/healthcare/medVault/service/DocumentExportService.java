@@ -0,0 +1,7 @@
+package com.healthcare.medVault.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface DocumentExportService {
+    StreamingResponseBody exportPatientDocuments(String patientId, String appointmentId);
+}
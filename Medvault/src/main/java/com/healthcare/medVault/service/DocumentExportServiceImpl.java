@@ -0,0 +1,192 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.medVault.entity.Appointment;
+import com.healthcare.medVault.entity.DocumentPermissionRequest;
+import com.healthcare.medVault.entity.HealthDocument;
+import com.healthcare.medVault.exception.ResourceNotFoundException;
+import com.healthcare.medVault.exception.ValidationException;
+import com.healthcare.medVault.helper.AuditAction;
+import com.healthcare.medVault.helper.AuditResourceType;
+import com.healthcare.medVault.helper.DocumentPermissionStatus;
+import com.healthcare.medVault.helper.StorageCodec;
+import com.healthcare.medVault.repository.AppointmentRepository;
+import com.healthcare.medVault.repository.DocumentPermissionRequestRepository;
+import com.healthcare.medVault.repository.HealthDocumentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@RequiredArgsConstructor
+public class DocumentExportServiceImpl implements DocumentExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final HealthDocumentRepository healthDocumentRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final DocumentPermissionRequestRepository permissionRepository;
+    private final DocumentStorageCodec storageCodec;
+    private final ObjectMapper objectMapper;
+    private final AccessAuditLog accessAuditLog;
+
+    @Override
+    public StreamingResponseBody exportPatientDocuments(String patientId, String appointmentId) {
+        // Resolve what may be exported before the response is committed, so access errors still get a status code
+        List<HealthDocument> documents = appointmentId == null
+                ? healthDocumentRepository.findByPatientId(patientId)
+                : findPermittedDocuments(patientId, appointmentId);
+        for (HealthDocument document : documents) {
+            accessAuditLog.record(AuditResourceType.DOCUMENT, AuditAction.EXPORT, patientId,
+                    document.getId().toString(), appointmentId);
+        }
+
+        return outputStream -> writeArchive(patientId, appointmentId, documents, outputStream);
+    }
+
+    // Doctors only get documents the patient approved for this appointment and that have not expired
+    private List<HealthDocument> findPermittedDocuments(String patientId, String appointmentId) {
+        long id;
+        try {
+            id = Long.parseLong(appointmentId);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid appointment id: " + appointmentId);
+        }
+
+        // Another patient's appointment is reported as missing rather than confirming that it exists
+        Appointment appointment = appointmentRepository.findById(id)
+                .filter(found -> found.getPatient().getId().toString().equals(patientId))
+                .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + appointmentId));
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> permittedIds = permissionRepository
+                .findByAppointmentIdAndStatus(appointment.getId(), DocumentPermissionStatus.APPROVED).stream()
+                .filter(permission -> !Boolean.TRUE.equals(permission.getIsExpired()))
+                .filter(permission -> permission.getExpiresAt() == null || permission.getExpiresAt().isAfter(now))
+                .map(DocumentPermissionRequest::getDocument)
+                .map(HealthDocument::getId)
+                .collect(Collectors.toSet());
+
+        return healthDocumentRepository.findAllById(permittedIds).stream()
+                .filter(document -> document.getPatientId().equals(patientId))
+                .collect(Collectors.toList());
+    }
+
+    private void writeArchive(String patientId, String appointmentId, List<HealthDocument> documents,
+                              OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+
+        List<Map<String, Object>> manifestEntries = new ArrayList<>();
+        List<HealthDocument> available = new ArrayList<>();
+        for (HealthDocument document : documents) {
+            boolean present = Files.isRegularFile(Paths.get(document.getFilePath()));
+            manifestEntries.add(manifestEntry(document, present));
+            if (present) {
+                available.add(document);
+            }
+        }
+
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("patientId", patientId);
+        manifest.put("appointmentId", appointmentId);
+        manifest.put("generatedAt", LocalDateTime.now());
+        manifest.put("documentCount", available.size());
+        manifest.put("documents", manifestEntries);
+
+        zip.putNextEntry(new ZipEntry("manifest.json"));
+        zip.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest));
+        zip.closeEntry();
+
+        for (HealthDocument document : available) {
+            writeDocumentEntry(zip, document);
+        }
+
+        // Finish the archive but leave closing the response stream to the container
+        zip.finish();
+        zip.flush();
+    }
+
+    private void writeDocumentEntry(ZipOutputStream zip, HealthDocument document) throws IOException {
+        Path filePath = Paths.get(document.getFilePath());
+        StorageCodec codec = document.getCodec() != null ? document.getCodec() : StorageCodec.IDENTITY;
+        ZipEntry entry = new ZipEntry(entryName(document));
+
+        if (codec == StorageCodec.IDENTITY && storageCodec.isPrecompressed(mediaTypeOf(document))) {
+            // STORED entries need size and CRC up front; one extra sequential read is far cheaper than deflating
+            long size = Files.size(filePath);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(crc32(filePath));
+        } else {
+            entry.setMethod(ZipEntry.DEFLATED);
+        }
+
+        zip.putNextEntry(entry);
+        try (InputStream in = storageCodec.decode(Files.newInputStream(filePath), codec)) {
+            in.transferTo(zip);
+        }
+        zip.closeEntry();
+    }
+
+    private Map<String, Object> manifestEntry(HealthDocument document, boolean present) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", document.getId());
+        entry.put("name", document.getName());
+        entry.put("type", document.getType());
+        entry.put("uploadDate", document.getUploadDate());
+        entry.put("size", document.getSize());
+        entry.put("contentType", document.getContentType());
+        entry.put("description", document.getDescription());
+        entry.put("entryName", present ? entryName(document) : null);
+        entry.put("missing", !present);
+        return entry;
+    }
+
+    private String entryName(HealthDocument document) {
+        String name = document.getName() != null ? document.getName() : "document";
+        return "documents/" + document.getId() + "-" + name.replaceAll("[\\\\/:*?\"<>|]", "_");
+    }
+
+    private MediaType mediaTypeOf(HealthDocument document) {
+        if (document.getContentType() != null) {
+            try {
+                return MediaType.parseMediaType(document.getContentType());
+            } catch (Exception ex) {
+                // Fall back to the file name
+            }
+        }
+        return MediaTypeFactory.getMediaType(document.getName()).orElse(null);
+    }
+
+    private long crc32(Path filePath) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(filePath)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+}
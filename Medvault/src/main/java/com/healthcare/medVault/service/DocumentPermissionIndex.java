@@ -0,0 +1,117 @@
+package com.healthcare.medVault.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthcare.medVault.dto.DocumentAccessGrant;
+import com.healthcare.medVault.repository.DocumentPermissionRequestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of document permissions keyed by appointment and then document. An appointment's
+ * grants are loaded with one query the first time it is checked; after that every access check is
+ * two hash lookups and an expiry comparison. Writes to document_permission_requests are applied to
+ * loaded appointments once their transaction commits.
+ */
+@Component
+public class DocumentPermissionIndex {
+
+    private static final String CACHE_NAME = "document_permissions";
+
+    private final DocumentPermissionRequestRepository permissionRepository;
+    private final Cache<Long, Map<Long, DocumentAccessGrant>> cache;
+
+    public DocumentPermissionIndex(DocumentPermissionRequestRepository permissionRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${document-permissions.index.max-appointments:10000}") long maxAppointments,
+                                   @Value("${document-permissions.index.ttl:30m}") Duration ttl) {
+        this.permissionRepository = permissionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxAppointments)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<DocumentAccessGrant> find(Long appointmentId, Long documentId) {
+        return Optional.ofNullable(grants(appointmentId).get(documentId));
+    }
+
+    public List<DocumentAccessGrant> findApproved(Long appointmentId) {
+        return grants(appointmentId).values().stream()
+                .filter(DocumentAccessGrant::isApproved)
+                .toList();
+    }
+
+    // Applies a saved permission request once the surrounding transaction commits
+    public void updateAfterCommit(Long appointmentId, DocumentAccessGrant grant) {
+        afterCommit(() -> update(appointmentId, grant));
+    }
+
+    // For bulk writes: the appointment is reloaded from the committed rows on its next check
+    public void invalidateAfterCommit(Long appointmentId) {
+        afterCommit(() -> cache.invalidate(appointmentId));
+    }
+
+    private Map<Long, DocumentAccessGrant> grants(Long appointmentId) {
+        return cache.get(appointmentId, this::load);
+    }
+
+    private Map<Long, DocumentAccessGrant> load(Long appointmentId) {
+        Map<Long, DocumentAccessGrant> grants = new ConcurrentHashMap<>();
+        for (DocumentAccessGrant grant : permissionRepository.findAccessGrantsByAppointmentId(appointmentId)) {
+            grants.merge(grant.documentId(), grant, DocumentPermissionIndex::latest);
+        }
+        return grants;
+    }
+
+    // Only touches the grant if it is still the same request with the same expiry; a grant that was
+    // approved again since then keeps its newer expiry
+    public void markExpired(Long appointmentId, Long documentId, Long permissionId, LocalDateTime expiresAt) {
+        cache.asMap().computeIfPresent(appointmentId, (id, grants) -> {
+            grants.computeIfPresent(documentId, (document, grant) ->
+                    grant.id().equals(permissionId) && expiresAt.equals(grant.expiresAt()) ? grant.expired() : grant);
+            return grants;
+        });
+    }
+
+    // Appointments that are not loaded are left alone; their first check reads the committed rows.
+    // computeIfPresent waits for an in-flight load of the same appointment, so the update is not lost.
+    private void update(Long appointmentId, DocumentAccessGrant grant) {
+        cache.asMap().computeIfPresent(appointmentId, (id, grants) -> {
+            grants.merge(grant.documentId(), grant, DocumentPermissionIndex::latest);
+            return grants;
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // A document can be requested more than once for the same appointment; the newest request decides access
+    private static DocumentAccessGrant latest(DocumentAccessGrant current, DocumentAccessGrant candidate) {
+        return candidate.id() >= current.id() ? candidate : current;
+    }
+}
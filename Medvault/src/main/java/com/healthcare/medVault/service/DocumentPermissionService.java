@@ -7,8 +7,14 @@ public interface DocumentPermissionService {
 
     DocumentPermissionRequestDTO requestDocumentPermission(String appointmentId, String documentId, String requestMessage);
 
+    List<DocumentPermissionRequestDTO> requestDocumentPermissions(String appointmentId, List<String> documentIds, String requestMessage);
+
     DocumentPermissionRequestDTO respondToPermissionRequest(String permissionRequestId, DocumentPermissionResponseDTO response);
 
+    List<DocumentPermissionRequestDTO> respondToPermissionRequests(String appointmentId, DocumentPermissionBatchResponseDTO response);
+
+    List<DocumentPermissionRequestDTO> approveAllPendingRequests(String appointmentId);
+
     PatientMedicalRecordAccessDTO getPatientMedicalRecord(String appointmentId);
 
     List<DocumentPermissionRequestDTO> getPatientPermissionRequests(String patientId);
@@ -19,5 +25,7 @@ public interface DocumentPermissionService {
 
     DoctorDocumentAccessDTO checkDocumentAccess(String documentId, String appointmentId);
 
+    List<DoctorDocumentAccessDTO> checkDocumentAccess(String appointmentId, List<String> documentIds);
+
     void cleanupExpiredPermissions();
 }
\ No newline at end of file
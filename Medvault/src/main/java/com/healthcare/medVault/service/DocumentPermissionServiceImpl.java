@@ -2,31 +2,40 @@ package com.healthcare.medVault.service;
 
 import com.healthcare.medVault.dto.*;
 import com.healthcare.medVault.entity.*;
+import com.healthcare.medVault.helper.AuditAction;
+import com.healthcare.medVault.helper.AuditResourceType;
 import com.healthcare.medVault.helper.DocumentPermissionStatus;
 import com.healthcare.medVault.repository.*;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DocumentPermissionServiceImpl implements DocumentPermissionService{
 
+    private static final long ACCESS_HOURS = 12;
+
     private final DocumentPermissionRequestRepository permissionRepository;
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final HealthDocumentRepository healthDocumentRepository;
-    private final PatientHealthRecordRepository healthRecordRepository;
-
-    @Autowired
-    private PatientHealthRecordServiceImpl patientHealthRecordService;
+    private final AccessAuditLog accessAuditLog;
+    private final DocumentPermissionIndex permissionIndex;
+    private final PermissionExpiryQueue permissionExpiryQueue;
+    private final DocumentPermissionBatchRepository permissionBatchRepository;
+    private final DoctorRecordViewStore recordViews;
 
     @Override
     @Transactional
@@ -34,7 +43,9 @@ public class DocumentPermissionServiceImpl implements DocumentPermissionService{
         Appointment appointment = appointmentRepository.findById(Long.parseLong(appointmentId))
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
 
-        HealthDocument document = healthDocumentRepository.findById(Long.parseLong(documentId))
+        // Only the appointment's patient can be asked about a document
+        HealthDocument document = healthDocumentRepository.findByIdAndPatientId(Long.parseLong(documentId),
+                        appointment.getPatient().getId().toString())
                 .orElseThrow(() -> new RuntimeException("Document not found"));
 
         DocumentPermissionRequest permissionRequest = new DocumentPermissionRequest();
@@ -48,9 +59,51 @@ public class DocumentPermissionServiceImpl implements DocumentPermissionService{
         permissionRequest.setStatus(DocumentPermissionStatus.PENDING);
 
         DocumentPermissionRequest savedRequest = permissionRepository.save(permissionRequest);
+        indexAfterCommit(savedRequest);
         return convertToDTO(savedRequest);
     }
 
+    @Override
+    @Transactional
+    public List<DocumentPermissionRequestDTO> requestDocumentPermissions(String appointmentId, List<String> documentIds, String requestMessage) {
+        Appointment appointment = appointmentRepository.findById(Long.parseLong(appointmentId))
+                .orElseThrow(() -> new RuntimeException("Appointment not found"));
+
+        Set<Long> ids = parseDocumentIds(documentIds);
+        // One query that also checks ownership: documents of any other patient count as missing
+        Map<Long, HealthDocument> documents = healthDocumentRepository
+                .findAllByIdInAndPatientId(ids, appointment.getPatient().getId().toString()).stream()
+                .collect(Collectors.toMap(HealthDocument::getId, Function.identity()));
+        List<Long> missing = ids.stream().filter(id -> !documents.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Documents not found: " + missing);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<DocumentPermissionRequest> requests = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            HealthDocument document = documents.get(id);
+            DocumentPermissionRequest permissionRequest = new DocumentPermissionRequest();
+            permissionRequest.setRequestId(UUID.randomUUID().toString());
+            permissionRequest.setAppointment(appointment);
+            permissionRequest.setDoctor(appointment.getDoctor());
+            permissionRequest.setPatient(appointment.getPatient());
+            permissionRequest.setDocument(document);
+            permissionRequest.setDocumentName(document.getName());
+            permissionRequest.setDocumentType(document.getType().name());
+            permissionRequest.setRequestMessage(requestMessage);
+            permissionRequest.setStatus(DocumentPermissionStatus.PENDING);
+            permissionRequest.setRequestedAt(now);
+            permissionRequest.setCreatedAt(now);
+            permissionRequest.setUpdatedAt(now);
+            requests.add(permissionRequest);
+        }
+
+        permissionBatchRepository.insert(requests);
+        permissionIndex.invalidateAfterCommit(appointment.getId());
+        return requests.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public DocumentPermissionRequestDTO respondToPermissionRequest(String permissionRequestId, DocumentPermissionResponseDTO response) {
@@ -62,46 +115,55 @@ public class DocumentPermissionServiceImpl implements DocumentPermissionService{
         permissionRequest.setRespondedAt(LocalDateTime.now());
 
         if (status == DocumentPermissionStatus.APPROVED) {
-            permissionRequest.setExpiresAt(LocalDateTime.now().plusHours(12));
+            permissionRequest.setExpiresAt(LocalDateTime.now().plusHours(ACCESS_HOURS).truncatedTo(ChronoUnit.MICROS));
             permissionRequest.setIsExpired(false);
         } else {
             permissionRequest.setIsExpired(true);
         }
 
         DocumentPermissionRequest updatedRequest = permissionRepository.save(permissionRequest);
+        indexAfterCommit(updatedRequest);
+        if (status == DocumentPermissionStatus.APPROVED) {
+            recordViews.build(updatedRequest.getAppointment().getId());
+            permissionExpiryQueue.schedule(new PermissionExpiry(updatedRequest.getId(),
+                    updatedRequest.getAppointment().getId(), updatedRequest.getDocument().getId(),
+                    updatedRequest.getExpiresAt()));
+        }
         return convertToDTO(updatedRequest);
     }
 
     @Override
-    public PatientMedicalRecordAccessDTO getPatientMedicalRecord(String appointmentId) {
-        Appointment appointment = appointmentRepository.findById(Long.parseLong(appointmentId))
-                .orElseThrow(() -> new RuntimeException("Appointment not found"));
+    @Transactional
+    public List<DocumentPermissionRequestDTO> respondToPermissionRequests(String appointmentId, DocumentPermissionBatchResponseDTO response) {
+        DocumentPermissionStatus status = DocumentPermissionStatus.valueOf(response.getResponse());
+        return respondToPending(Long.parseLong(appointmentId), parseDocumentIds(response.getDocumentIds()), status);
+    }
 
-        Patient patient = appointment.getPatient();
-        List<DocumentPermissionRequest> permissions = permissionRepository.findByAppointmentIdAndStatus(appointment.getId(), DocumentPermissionStatus.APPROVED);
+    @Override
+    @Transactional
+    public List<DocumentPermissionRequestDTO> approveAllPendingRequests(String appointmentId) {
+        return respondToPending(Long.parseLong(appointmentId), null, DocumentPermissionStatus.APPROVED);
+    }
+
+    @Override
+    public PatientMedicalRecordAccessDTO getPatientMedicalRecord(String appointmentId) {
+        DoctorRecordViewStore.View view = recordViews.getView(Long.parseLong(appointmentId));
+        // Permissions expire on their own schedule, so they are read live rather than kept in the view
+        List<DocumentPermissionRequest> permissions = permissionRepository.findByAppointmentIdAndStatus(
+                Long.parseLong(appointmentId), DocumentPermissionStatus.APPROVED);
 
         PatientMedicalRecordAccessDTO response = new PatientMedicalRecordAccessDTO();
         response.setAppointmentId(appointmentId);
-        response.setPatientId(patient.getId().toString());
-        response.setPatientName(patient.getFirstName() + " " + patient.getLastName());
-        response.setAppointmentDate(appointment.getAppointmentDateTime().toString());
+        response.setPatientId(view.patientId());
+        response.setPatientName(view.patientName());
+        response.setAppointmentDate(view.appointmentAt() != null ? view.appointmentAt().toString() : null);
         response.setHasBasicAccess(true);
         response.setDocumentPermissions(permissions.stream().map(this::convertToDTO).collect(Collectors.toList()));
+        response.setMedicalRecord(view.medicalRecord());
 
-        Optional<PatientHealthRecord> healthRecordOpt = healthRecordRepository.findByPatientId(patient.getId().toString());
-
-        if (healthRecordOpt.isPresent()) {
-            PatientHealthRecord healthRecord = healthRecordOpt.get();
-            PatientHealthRecordDTO healthRecordDTO = patientHealthRecordService.convertToDTO(healthRecord);
-
-            PatientMedicalRecordAccessDTO.MedicalRecord medicalRecord = new PatientMedicalRecordAccessDTO.MedicalRecord();
-            medicalRecord.setBasicDemographics(healthRecordDTO.getBasicDemographics());
-            medicalRecord.setMedicalHistory(healthRecordDTO.getMedicalHistory());
-            medicalRecord.setLifestyle(healthRecordDTO.getLifestyle());
-            medicalRecord.setCurrentHealth(healthRecordDTO.getCurrentHealth());
-            medicalRecord.setDocuments(healthRecordDTO.getDocuments());
-
-            response.setMedicalRecord(medicalRecord);
+        if (view.healthRecordId() != null) {
+            accessAuditLog.record(AuditResourceType.MEDICAL_RECORD, AuditAction.VIEW,
+                    view.patientId(), view.healthRecordId().toString(), appointmentId, view.doctorUsername());
         }
         return response;
     }
@@ -117,11 +179,10 @@ public class DocumentPermissionServiceImpl implements DocumentPermissionService{
 
     @Override
     public List<DoctorDocumentAccessDTO> getDoctorDocumentAccess(String appointmentId) {
-
-        List<DocumentPermissionRequest> permissions = permissionRepository.findByAppointmentIdAndStatus(
-                Long.parseLong(appointmentId),DocumentPermissionStatus.APPROVED);
-
-        return permissions.stream().map(this::convertToAccessDTO).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        return permissionIndex.findApproved(Long.parseLong(appointmentId)).stream()
+                .map(grant -> convertToAccessDTO(grant.documentId().toString(), grant, now))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -134,44 +195,31 @@ public class DocumentPermissionServiceImpl implements DocumentPermissionService{
         permissionRequest.setStatus(DocumentPermissionStatus.REJECTED);
         permissionRequest.setUpdatedAt(LocalDateTime.now());
 
-        permissionRepository.save(permissionRequest);
+        DocumentPermissionRequest revokedRequest = permissionRepository.save(permissionRequest);
+        indexAfterCommit(revokedRequest);
     }
 
     @Override
     public DoctorDocumentAccessDTO checkDocumentAccess(String documentId, String appointmentId) {
-        Optional<DocumentPermissionRequest> permissionOpt = permissionRepository.findByDocumentIdAndAppointmentId(
-                Long.parseLong(documentId), Long.parseLong(appointmentId));
-
-        DoctorDocumentAccessDTO accessDTO = new DoctorDocumentAccessDTO();
-        accessDTO.setDocumentId(documentId);
-
-        if (permissionOpt.isPresent()) {
-            DocumentPermissionRequest permission = permissionOpt.get();
-            accessDTO.setPermissionId(permission.getRequestId());
-            accessDTO.setCanView(permission.getStatus() == DocumentPermissionStatus.APPROVED && !permission.getIsExpired());
-
-            if (permission.getExpiresAt() != null) {
-                accessDTO.setExpiresAt(permission.getExpiresAt());
-                long minutesRemaining = ChronoUnit.MINUTES.between(LocalDateTime.now(), permission.getExpiresAt());
-                accessDTO.setTimeRemaining(Math.max(0, minutesRemaining));
-            }
-        } else {
-            accessDTO.setCanView(false);
-        }
+        return checkDocumentAccess(appointmentId, List.of(documentId)).get(0);
+    }
 
-        return accessDTO;
+    @Override
+    public List<DoctorDocumentAccessDTO> checkDocumentAccess(String appointmentId, List<String> documentIds) {
+        Long appointment = Long.parseLong(appointmentId);
+        LocalDateTime now = LocalDateTime.now();
+
+        return documentIds.stream()
+                .map(documentId -> convertToAccessDTO(documentId,
+                        permissionIndex.find(appointment, Long.parseLong(documentId)).orElse(null), now))
+                .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
     public void cleanupExpiredPermissions() {
-        List<DocumentPermissionRequest> expiredPermissions = permissionRepository.findExpiredPermissions(LocalDateTime.now());
-
-        for (DocumentPermissionRequest permission : expiredPermissions) {
-            permission.setIsExpired(true);
-        }
-
-        permissionRepository.saveAll(expiredPermissions);
+        // Grants are normally expired on time by PermissionExpiryQueue; this catches any it missed.
+        // The index compares expiry timestamps itself, so it does not need to see these rows.
+        permissionRepository.expirePermissionsBefore(LocalDateTime.now());
     }
 
     private DocumentPermissionRequestDTO convertToDTO(DocumentPermissionRequest request) {
@@ -195,15 +243,61 @@ public class DocumentPermissionServiceImpl implements DocumentPermissionService{
         return dto;
     }
 
-    private DoctorDocumentAccessDTO convertToAccessDTO(DocumentPermissionRequest request) {
+    // Locks the pending requests of the appointment (or of the given documents), answers exactly
+    // those ids with one UPDATE and reads them back by id
+    private List<DocumentPermissionRequestDTO> respondToPending(Long appointmentId, Set<Long> documentIds, DocumentPermissionStatus status) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        boolean approved = status == DocumentPermissionStatus.APPROVED;
+        LocalDateTime expiresAt = approved ? now.plusHours(ACCESS_HOURS) : null;
+
+        List<Long> ids = documentIds == null
+                ? permissionRepository.findPendingIdsForUpdate(appointmentId)
+                : permissionRepository.findPendingIdsForUpdate(appointmentId, documentIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        permissionRepository.respondToPending(ids, status, expiresAt, !approved, now);
+
+        List<DocumentPermissionRequest> responded = permissionRepository.findByIdIn(ids);
+        permissionIndex.invalidateAfterCommit(appointmentId);
+        if (approved) {
+            recordViews.build(appointmentId);
+            for (DocumentPermissionRequest request : responded) {
+                permissionExpiryQueue.schedule(new PermissionExpiry(request.getId(), appointmentId,
+                        request.getDocument().getId(), request.getExpiresAt()));
+            }
+        }
+        return responded.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    private Set<Long> parseDocumentIds(List<String> documentIds) {
+        if (documentIds == null || documentIds.isEmpty()) {
+            throw new RuntimeException("No documents given");
+        }
+        return documentIds.stream().map(Long::parseLong).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private void indexAfterCommit(DocumentPermissionRequest request) {
+        permissionIndex.updateAfterCommit(request.getAppointment().getId(), new DocumentAccessGrant(
+                request.getId(), request.getDocument().getId(), request.getRequestId(), request.getStatus(),
+                request.getExpiresAt(), request.getIsExpired()));
+    }
+
+    private DoctorDocumentAccessDTO convertToAccessDTO(String documentId, DocumentAccessGrant grant, LocalDateTime now) {
         DoctorDocumentAccessDTO dto = new DoctorDocumentAccessDTO();
-        dto.setDocumentId(request.getDocument().getId().toString());
-        dto.setPermissionId(request.getRequestId());
-        dto.setCanView(request.getStatus() == DocumentPermissionStatus.APPROVED && !request.getIsExpired());
-        dto.setExpiresAt(request.getExpiresAt());
+        dto.setDocumentId(documentId);
+
+        if (grant == null) {
+            dto.setCanView(false);
+            return dto;
+        }
+
+        dto.setPermissionId(grant.requestId());
+        dto.setCanView(grant.canView(now));
+        dto.setExpiresAt(grant.expiresAt());
 
-        if (request.getExpiresAt() != null) {
-            long minutesRemaining = ChronoUnit.MINUTES.between(LocalDateTime.now(), request.getExpiresAt());
+        if (grant.expiresAt() != null) {
+            long minutesRemaining = ChronoUnit.MINUTES.between(now, grant.expiresAt());
             dto.setTimeRemaining(Math.max(0, minutesRemaining));
         }
 
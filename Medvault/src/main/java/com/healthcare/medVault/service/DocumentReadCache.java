@@ -0,0 +1,128 @@
+package com.healthcare.medVault.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthcare.medVault.helper.StorageCodec;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Keeps recently opened small and medium documents in direct (off-heap) buffers.
+ * Caffeine supplies W-TinyLFU admission and eviction weighted by byte size; the heap
+ * only holds the buffer references.
+ */
+@Component
+public class DocumentReadCache {
+
+    private static final String CACHE_NAME = "health_documents";
+
+    private final Cache<String, CachedDocument> cache;
+    private final long maxEntryBytes;
+
+    public DocumentReadCache(MeterRegistry meterRegistry,
+                             @Value("${document.cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${document.cache.max-entry-bytes:4194304}") long maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String fileName, CachedDocument document) -> document.data().capacity())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("document.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("document.cache.bytes", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public Optional<CachedDocument> get(String fileName) {
+        return Optional.ofNullable(cache.getIfPresent(fileName));
+    }
+
+    /**
+     * Loads the stored bytes into a direct buffer; returns empty when the file is too large to cache.
+     * The read runs inside the cache's per-key computation, so concurrent loads of one file share a
+     * single read and an invalidate waits for an in-progress load instead of being overwritten by it.
+     */
+    public Optional<CachedDocument> load(String fileName, Path filePath, StorageCodec codec) throws IOException {
+        try {
+            return Optional.ofNullable(cache.get(fileName, key -> read(filePath, codec)));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    public void invalidate(String fileName) {
+        cache.invalidate(fileName);
+    }
+
+    // Null leaves the file uncached
+    private CachedDocument read(Path filePath, StorageCodec codec) {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > maxEntryBytes) {
+                return null;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // keep reading until the buffer is full
+            }
+            buffer.flip();
+            return new CachedDocument(buffer.asReadOnlyBuffer(), codec);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public record CachedDocument(ByteBuffer data, StorageCodec codec) {
+
+        public long size() {
+            return data.capacity();
+        }
+
+        // Each reader gets its own view so concurrent downloads do not share a position
+        public InputStream openStream() {
+            ByteBuffer view = data.duplicate();
+            view.rewind();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return view.hasRemaining() ? view.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (!view.hasRemaining()) {
+                        return -1;
+                    }
+                    int count = Math.min(len, view.remaining());
+                    view.get(b, off, count);
+                    return count;
+                }
+
+                @Override
+                public int available() {
+                    return view.remaining();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.helper.StorageCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class DocumentStorageCodec {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Text-like formats and uncompressed rasters; JPEG/PNG/PDF/ZIP gain nothing from a second pass
+    private static final List<MediaType> COMPRESSIBLE_TYPES = List.of(
+            MediaType.parseMediaType("text/*"),
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_XML,
+            MediaType.parseMediaType("application/*+json"),
+            MediaType.parseMediaType("application/*+xml"),
+            MediaType.parseMediaType("application/dicom"),
+            MediaType.parseMediaType("image/tiff"),
+            MediaType.parseMediaType("image/bmp"),
+            MediaType.parseMediaType("image/x-ms-bmp")
+    );
+
+    // Formats that are already compressed; re-deflating them only burns CPU
+    private static final List<MediaType> PRECOMPRESSED_TYPES = List.of(
+            MediaType.IMAGE_JPEG,
+            MediaType.IMAGE_PNG,
+            MediaType.IMAGE_GIF,
+            MediaType.parseMediaType("image/webp"),
+            MediaType.APPLICATION_PDF,
+            MediaType.parseMediaType("application/zip"),
+            MediaType.parseMediaType("application/gzip"),
+            MediaType.parseMediaType("video/*"),
+            MediaType.parseMediaType("audio/*")
+    );
+
+    @Value("${document.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${document.compression.min-size:1024}")
+    private long minCompressSize;
+
+    public StorageCodec selectCodec(MediaType mediaType, long size) {
+        if (!compressionEnabled || mediaType == null || size < minCompressSize) {
+            return StorageCodec.IDENTITY;
+        }
+        for (MediaType compressible : COMPRESSIBLE_TYPES) {
+            if (compressible.includes(mediaType)) {
+                return StorageCodec.GZIP;
+            }
+        }
+        return StorageCodec.IDENTITY;
+    }
+
+    public boolean isPrecompressed(MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        for (MediaType precompressed : PRECOMPRESSED_TYPES) {
+            if (precompressed.includes(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void encode(InputStream source, OutputStream target, StorageCodec codec) throws IOException {
+        if (codec == StorageCodec.GZIP) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(target, BUFFER_SIZE)) {
+                source.transferTo(gzip);
+            }
+        } else {
+            try (target) {
+                source.transferTo(target);
+            }
+        }
+    }
+
+    public InputStream decode(InputStream stored, StorageCodec codec) throws IOException {
+        if (codec == StorageCodec.GZIP) {
+            return new GZIPInputStream(stored, BUFFER_SIZE);
+        }
+        return stored;
+    }
+
+    // True when an Accept-Encoding header lists the codec's encoding (or *) without q=0
+    public boolean accepts(String acceptEncoding, StorageCodec codec) {
+        if (codec == null || codec.getContentEncoding() == null) {
+            return true;
+        }
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase(codec.getContentEncoding()) && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) == 0.0;
+                    } catch (NumberFormatException ex) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
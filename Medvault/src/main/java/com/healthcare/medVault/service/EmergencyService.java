@@ -9,9 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.Map;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -28,6 +26,7 @@ public class EmergencyService {
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final RejectionRepository rejectionRepository;
+    private final ModelServiceClient modelServiceClient;
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
 
@@ -166,12 +165,11 @@ public class EmergencyService {
     // Helper: predict specialization using your FastAPI service
     private String predictSpecialization(String symptomsText) {
         try {
-            RestTemplate restTemplate = new RestTemplate();
-            Map<String, String> payload = Map.of("text", symptomsText);
-            Map<String, String> response = restTemplate.postForObject(
-                    "http://localhost:8000/predict", payload, Map.class
-            );
-            String prediction = response.get("prediction");
+            String prediction = modelServiceClient.predictSpecialization(symptomsText).block();
+            if (prediction == null) {
+                log.warn("Specialization prediction returned no result. Defaulting to 'General'.");
+                return "General";
+            }
             log.info("Specialization prediction response from FastAPI: {}", prediction);
             return prediction;
         } catch (Exception e) {
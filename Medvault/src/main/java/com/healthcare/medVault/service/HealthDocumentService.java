@@ -1,15 +1,27 @@
 package com.healthcare.medVault.service;
 
 import com.healthcare.medVault.dto.HealthDocumentDTO;
+import com.healthcare.medVault.dto.HealthDocumentListItem;
+import com.healthcare.medVault.dto.KeysetPageDTO;
+import com.healthcare.medVault.dto.StoredDocumentContent;
 import com.healthcare.medVault.helper.DocumentType;
 import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface HealthDocumentService {
     HealthDocumentDTO uploadDocument(String patientId, MultipartFile file,
                                      DocumentType documentType, String description);
+    HealthDocumentDTO storeUploadedDocument(String patientId, Path source, String originalFileName,
+                                            DocumentType documentType, String description);
     List<HealthDocumentDTO> getDocumentsByPatientId(String patientId);
+    KeysetPageDTO<HealthDocumentListItem> getDocumentPage(String patientId, DocumentType type,
+                                                          LocalDateTime fromDate, LocalDateTime toDate,
+                                                          String cursor, int limit);
     HealthDocumentDTO getDocumentById(Long id, String patientId);
     void deleteDocument(Long id);
     byte[] downloadDocument(String fileName);
+    StoredDocumentContent openDocument(String fileName, String acceptEncoding);
 }
\ No newline at end of file
@@ -1,33 +1,57 @@
 package com.healthcare.medVault.service;
 
 import com.healthcare.medVault.dto.HealthDocumentDTO;
+import com.healthcare.medVault.dto.HealthDocumentListItem;
+import com.healthcare.medVault.dto.KeysetPageDTO;
+import com.healthcare.medVault.dto.StoredDocumentContent;
 import com.healthcare.medVault.entity.HealthDocument;
+import com.healthcare.medVault.exception.ValidationException;
+import com.healthcare.medVault.helper.AuditAction;
 import com.healthcare.medVault.helper.DocumentType;
+import com.healthcare.medVault.helper.StorageCodec;
 import com.healthcare.medVault.repository.HealthDocumentRepository;
 import jakarta.annotation.PostConstruct;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class HealthDocumentServiceImpl implements HealthDocumentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final HealthDocumentRepository healthDocumentRepository;
     private final ModelMapper modelMapper;
+    private final DocumentStorageCodec storageCodec;
+    private final DocumentReadCache documentReadCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccessAuditLog accessAuditLog;
 
     @Value("${file.upload-dir:uploads/documents}")
     private String uploadDir;
@@ -35,9 +59,17 @@ public class HealthDocumentServiceImpl implements HealthDocumentService {
     private Path fileStorageLocation;
 
     public HealthDocumentServiceImpl(HealthDocumentRepository healthDocumentRepository,
-                                     ModelMapper modelMapper) {
+                                     ModelMapper modelMapper,
+                                     DocumentStorageCodec storageCodec,
+                                     DocumentReadCache documentReadCache,
+                                     ApplicationEventPublisher eventPublisher,
+                                     AccessAuditLog accessAuditLog) {
         this.healthDocumentRepository = healthDocumentRepository;
         this.modelMapper = modelMapper;
+        this.storageCodec = storageCodec;
+        this.documentReadCache = documentReadCache;
+        this.eventPublisher = eventPublisher;
+        this.accessAuditLog = accessAuditLog;
     }
 
     @PostConstruct
@@ -56,41 +88,106 @@ public class HealthDocumentServiceImpl implements HealthDocumentService {
         try {
             // Generate unique filename
             String originalFileName = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFileName != null && originalFileName.contains(".")) {
-                fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
-            }
-            String fileName = UUID.randomUUID().toString() + fileExtension;
+            String fileName = generateFileName(originalFileName);
+            MediaType mediaType = resolveMediaType(file.getContentType(), originalFileName);
+            StorageCodec codec = storageCodec.selectCodec(mediaType, file.getSize());
 
-            // Copy file to the target location
+            // Copy file to the target location, compressing text-like content on the way
             Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            // Create document entity
-            HealthDocument document = new HealthDocument();
-            document.setPatientId(patientId);
-            document.setName(originalFileName != null ? originalFileName : "Untitled");
-            document.setType(documentType);
-            document.setFilePath(targetLocation.toString());
-            document.setSize(file.getSize());
-            document.setDescription(description);
-
-            // Generate URL for the document
-            String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
-                    .path("/api/health-documents/download/")
-                    .path(fileName)
-                    .toUriString();
-            document.setUrl(fileDownloadUri);
-
-            // Save to database
-            HealthDocument savedDocument = healthDocumentRepository.save(document);
-
-            return convertToDTO(savedDocument);
+            try (InputStream in = file.getInputStream()) {
+                storageCodec.encode(in, Files.newOutputStream(targetLocation), codec);
+            }
+
+            return saveDocument(patientId, originalFileName, fileName, targetLocation, file.getSize(),
+                    documentType, description, mediaType, codec);
         } catch (IOException ex) {
             throw new RuntimeException("Could not store file " + file.getOriginalFilename() + ". Please try again!", ex);
         }
     }
 
+    @Override
+    public HealthDocumentDTO storeUploadedDocument(String patientId, Path source, String originalFileName,
+                                                   DocumentType documentType, String description) {
+        try {
+            String fileName = generateFileName(originalFileName);
+            Path targetLocation = this.fileStorageLocation.resolve(fileName);
+            long size = Files.size(source);
+            MediaType mediaType = resolveMediaType(null, originalFileName);
+            StorageCodec codec = storageCodec.selectCodec(mediaType, size);
+
+            if (codec == StorageCodec.IDENTITY) {
+                // The assembled upload already sits on disk, so move it instead of copying the bytes again
+                try {
+                    Files.move(source, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(source, targetLocation, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } else {
+                try (InputStream in = Files.newInputStream(source)) {
+                    storageCodec.encode(in, Files.newOutputStream(targetLocation), codec);
+                }
+                Files.delete(source);
+            }
+
+            return saveDocument(patientId, originalFileName, fileName, targetLocation, size,
+                    documentType, description, mediaType, codec);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + originalFileName + ". Please try again!", ex);
+        }
+    }
+
+    private String generateFileName(String originalFileName) {
+        String fileExtension = "";
+        if (originalFileName != null && originalFileName.contains(".")) {
+            fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+        }
+        return UUID.randomUUID().toString() + fileExtension;
+    }
+
+    private MediaType resolveMediaType(String declaredContentType, String originalFileName) {
+        if (declaredContentType != null && !declaredContentType.isBlank()) {
+            try {
+                MediaType declared = MediaType.parseMediaType(declaredContentType);
+                if (!MediaType.APPLICATION_OCTET_STREAM.equals(declared)) {
+                    return declared;
+                }
+            } catch (Exception ex) {
+                // Fall back to the file extension
+            }
+        }
+        return originalFileName != null ? MediaTypeFactory.getMediaType(originalFileName).orElse(null) : null;
+    }
+
+    private HealthDocumentDTO saveDocument(String patientId, String originalFileName, String fileName,
+                                           Path targetLocation, long size,
+                                           DocumentType documentType, String description,
+                                           MediaType mediaType, StorageCodec codec) {
+        // Create document entity
+        HealthDocument document = new HealthDocument();
+        document.setPatientId(patientId);
+        document.setName(originalFileName != null ? originalFileName : "Untitled");
+        document.setType(documentType);
+        document.setFilePath(targetLocation.toString());
+        document.setSize(size);
+        document.setDescription(description);
+        document.setContentType(mediaType != null ? mediaType.toString() : null);
+        document.setCodec(codec);
+
+        // Generate URL for the document
+        String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/health-documents/download/")
+                .path(fileName)
+                .toUriString();
+        document.setUrl(fileDownloadUri);
+
+        // Save to database
+        HealthDocument savedDocument = healthDocumentRepository.save(document);
+        eventPublisher.publishEvent(new HealthDocumentStoredEvent(savedDocument.getId(), savedDocument.getName(),
+                savedDocument.getContentType(), targetLocation, codec));
+
+        return convertToDTO(savedDocument);
+    }
+
     @Override
     public List<HealthDocumentDTO> getDocumentsByPatientId(String patientId) {
         List<HealthDocument> documents = healthDocumentRepository.findByPatientId(patientId);
@@ -99,6 +196,42 @@ public class HealthDocumentServiceImpl implements HealthDocumentService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public KeysetPageDTO<HealthDocumentListItem> getDocumentPage(String patientId, DocumentType type,
+                                                                 LocalDateTime fromDate, LocalDateTime toDate,
+                                                                 String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        LocalDateTime cursorDate = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                cursorDate = LocalDateTime.parse(decoded.substring(0, separator));
+                cursorId = Long.parseLong(decoded.substring(separator + 1));
+            } catch (RuntimeException ex) {
+                throw new ValidationException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<HealthDocumentListItem> rows = healthDocumentRepository.findDocumentPage(patientId, type, fromDate, toDate,
+                cursorDate, cursorId, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<HealthDocumentListItem> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            HealthDocumentListItem last = items.get(items.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((last.uploadDate() + "|" + last.id()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return new KeysetPageDTO<>(items, nextCursor, hasMore);
+    }
+
     @Override
     public HealthDocumentDTO getDocumentById(Long id, String patientId) {
         HealthDocument document = healthDocumentRepository.findByIdAndPatientId(id, patientId)
@@ -114,6 +247,7 @@ public class HealthDocumentServiceImpl implements HealthDocumentService {
         try {
             // Delete file from filesystem
             Files.deleteIfExists(Paths.get(document.getFilePath()));
+            documentReadCache.invalidate(document.getFilePath());
 
             // Delete from database
             healthDocumentRepository.deleteById(id);
@@ -124,15 +258,49 @@ public class HealthDocumentServiceImpl implements HealthDocumentService {
 
     @Override
     public byte[] downloadDocument(String fileName) {
+        StoredDocumentContent content = openDocument(fileName, null);
+        try (InputStream in = content.getResource().getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new RuntimeException("Error reading file " + fileName, ex);
+        }
+    }
+
+    @Override
+    public StoredDocumentContent openDocument(String fileName, String acceptEncoding) {
         try {
             Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+            String cacheKey = filePath.toString();
 
-            if (resource.exists()) {
-                return Files.readAllBytes(filePath);
-            } else {
-                throw new RuntimeException("File not found " + fileName);
+            Optional<DocumentReadCache.CachedDocument> cached = documentReadCache.get(cacheKey);
+            if (cached.isEmpty()) {
+                Resource resource = new UrlResource(filePath.toUri());
+                if (!resource.exists()) {
+                    throw new RuntimeException("File not found " + fileName);
+                }
+
+                StorageCodec codec = healthDocumentRepository.findByFilePath(cacheKey)
+                        .map(HealthDocument::getCodec)
+                        .orElse(null);
+                if (codec == null) {
+                    codec = StorageCodec.IDENTITY;
+                }
+
+                cached = documentReadCache.load(cacheKey, filePath, codec);
+                if (cached.isEmpty()) {
+                    accessAuditLog.recordDocument(AuditAction.DOWNLOAD, cacheKey, fileName);
+                    return openFromDisk(filePath, codec, acceptEncoding);
+                }
+            }
+            accessAuditLog.recordDocument(AuditAction.DOWNLOAD, cacheKey, fileName);
+
+            DocumentReadCache.CachedDocument document = cached.get();
+            if (storageCodec.accepts(acceptEncoding, document.codec())) {
+                return new StoredDocumentContent(new InputStreamResource(document.openStream()), document.size(),
+                        document.codec().getContentEncoding());
             }
+            InputStream decoded = storageCodec.decode(document.openStream(), document.codec());
+            return new StoredDocumentContent(new InputStreamResource(decoded), -1, null);
         } catch (MalformedURLException ex) {
             throw new RuntimeException("File not found " + fileName, ex);
         } catch (IOException ex) {
@@ -140,6 +308,16 @@ public class HealthDocumentServiceImpl implements HealthDocumentService {
         }
     }
 
+    private StoredDocumentContent openFromDisk(Path filePath, StorageCodec codec, String acceptEncoding) throws IOException {
+        // Serve stored bytes untouched when the client can decode them; otherwise decode while streaming
+        if (storageCodec.accepts(acceptEncoding, codec)) {
+            return new StoredDocumentContent(new FileSystemResource(filePath), Files.size(filePath),
+                    codec.getContentEncoding());
+        }
+        InputStream decoded = storageCodec.decode(Files.newInputStream(filePath), codec);
+        return new StoredDocumentContent(new InputStreamResource(decoded), -1, null);
+    }
+
     private HealthDocumentDTO convertToDTO(HealthDocument document) {
         return modelMapper.map(document, HealthDocumentDTO.class);
     }
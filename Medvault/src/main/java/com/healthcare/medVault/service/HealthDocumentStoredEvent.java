@@ -0,0 +1,10 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.helper.StorageCodec;
+
+import java.nio.file.Path;
+
+// Published after a health document has been written to storage and saved
+public record HealthDocumentStoredEvent(Long documentId, String originalFileName, String contentType,
+                                        Path filePath, StorageCodec codec) {
+}
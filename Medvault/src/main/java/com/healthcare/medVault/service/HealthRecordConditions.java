@@ -0,0 +1,44 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.MedicalHistoryItemDTO;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Derives the active_conditions index of a health record from its medical history. Titles are
+ * trimmed and lower-cased so "Type 2 Diabetes" and "type 2 diabetes " land on the same key, and
+ * capped at the width of the multi-valued index.
+ */
+public final class HealthRecordConditions {
+
+    static final int MAX_CONDITION_LENGTH = 128;
+
+    private HealthRecordConditions() {
+    }
+
+    public static String normalize(String condition) {
+        if (condition == null) {
+            return null;
+        }
+        String normalized = condition.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() > MAX_CONDITION_LENGTH) {
+            normalized = normalized.substring(0, MAX_CONDITION_LENGTH);
+        }
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    public static List<String> activeConditions(List<MedicalHistoryItemDTO> medicalHistory) {
+        if (medicalHistory == null) {
+            return List.of();
+        }
+        return medicalHistory.stream()
+                .filter(Objects::nonNull)
+                .filter(item -> Boolean.TRUE.equals(item.getIsActive()))
+                .map(item -> normalize(item.getTitle()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+}
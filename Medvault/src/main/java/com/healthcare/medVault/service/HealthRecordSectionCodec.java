@@ -0,0 +1,115 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.healthcare.medVault.dto.BasicDemographicsDTO;
+import com.healthcare.medVault.dto.ConsentPreferencesDTO;
+import com.healthcare.medVault.dto.CurrentHealthDataDTO;
+import com.healthcare.medVault.dto.HealthDocumentDTO;
+import com.healthcare.medVault.dto.IdentificationDetailsDTO;
+import com.healthcare.medVault.dto.LifestyleInformationDTO;
+import com.healthcare.medVault.dto.MedicalHistoryItemDTO;
+import com.healthcare.medVault.entity.PatientHealthRecord;
+import com.healthcare.medVault.helper.HealthRecordSection;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes health record section JSON with one ObjectReader / ObjectWriter per section,
+ * resolved once at startup. Callers no longer build a TypeReference or look up the root
+ * (de)serializer on every conversion, and the bean (de)serializers are warmed up before the first
+ * request instead of on it.
+ */
+@Component
+public class HealthRecordSectionCodec {
+
+    private final ObjectMapper objectMapper;
+    private final Map<HealthRecordSection, JavaType> types = new EnumMap<>(HealthRecordSection.class);
+    private final Map<HealthRecordSection, ObjectReader> readers = new EnumMap<>(HealthRecordSection.class);
+    private final Map<HealthRecordSection, ObjectWriter> writers = new EnumMap<>(HealthRecordSection.class);
+    private final ObjectWriter untypedWriter;
+
+    public HealthRecordSectionCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.untypedWriter = objectMapper.writer();
+
+        TypeFactory typeFactory = objectMapper.getTypeFactory();
+        for (HealthRecordSection section : HealthRecordSection.values()) {
+            JavaType type = switch (section) {
+                case BASIC_DEMOGRAPHICS -> typeFactory.constructType(BasicDemographicsDTO.class);
+                case IDENTIFICATION -> typeFactory.constructType(IdentificationDetailsDTO.class);
+                case MEDICAL_HISTORY -> typeFactory.constructCollectionType(List.class, MedicalHistoryItemDTO.class);
+                case LIFESTYLE -> typeFactory.constructType(LifestyleInformationDTO.class);
+                case CURRENT_HEALTH -> typeFactory.constructType(CurrentHealthDataDTO.class);
+                case DOCUMENTS -> typeFactory.constructCollectionType(List.class, HealthDocumentDTO.class);
+                case CONSENT_PREFERENCES -> typeFactory.constructType(ConsentPreferencesDTO.class);
+            };
+            types.put(section, type);
+            readers.put(section, objectMapper.readerFor(type));
+            writers.put(section, objectMapper.writerFor(type));
+        }
+        warmUp();
+    }
+
+    public JavaType type(HealthRecordSection section) {
+        return types.get(section);
+    }
+
+    // Null for a column that was never written
+    public <T> T read(HealthRecordSection section, String json) throws JsonProcessingException {
+        return json == null ? null : readers.get(section).readValue(json);
+    }
+
+    /**
+     * Serializes a section value. Typed DTOs go through the section's prefetched writer; request
+     * bodies bound as plain maps and lists are written as they are.
+     */
+    public String write(HealthRecordSection section, Object value) throws JsonProcessingException {
+        JavaType type = types.get(section);
+        boolean typed = value != null && !type.isCollectionLikeType() && type.getRawClass().isInstance(value);
+        return (typed ? writers.get(section) : untypedWriter).writeValueAsString(value);
+    }
+
+    // The stored JSON of one section of a loaded record
+    public String columnJson(PatientHealthRecord record, HealthRecordSection section) {
+        return switch (section) {
+            case BASIC_DEMOGRAPHICS -> record.getBasicDemographics();
+            case IDENTIFICATION -> record.getIdentificationDetails();
+            case MEDICAL_HISTORY -> record.getMedicalHistory();
+            case LIFESTYLE -> record.getLifestyleInfo();
+            case CURRENT_HEALTH -> record.getCurrentHealth();
+            case DOCUMENTS -> record.getDocuments();
+            case CONSENT_PREFERENCES -> record.getConsentPreferences();
+        };
+    }
+
+    // Binds a raw request body or a patched tree to the section's DTO type
+    public <T> T convert(HealthRecordSection section, Object value) {
+        return objectMapper.convertValue(value, types.get(section));
+    }
+
+    public JsonNode readTree(String json) throws JsonProcessingException {
+        return objectMapper.readTree(json);
+    }
+
+    // Builds every section's bean (de)serializers now rather than on the first request
+    private void warmUp() {
+        for (HealthRecordSection section : HealthRecordSection.values()) {
+            try {
+                Object sample = read(section, types.get(section).isCollectionLikeType() ? "[{}]" : "{}");
+                write(section, sample);
+                writers.get(section).writeValueAsString(sample);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not initialise JSON codec for " + section.getKey(), e);
+            }
+        }
+    }
+}
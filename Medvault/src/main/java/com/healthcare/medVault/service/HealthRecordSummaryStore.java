@@ -0,0 +1,262 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthcare.medVault.dto.CurrentHealthDataDTO;
+import com.healthcare.medVault.dto.CurrentMedicationDTO;
+import com.healthcare.medVault.dto.HealthRecordSummaryDTO;
+import com.healthcare.medVault.entity.HealthRecordSummary;
+import com.healthcare.medVault.entity.PatientHealthRecord;
+import com.healthcare.medVault.helper.HealthRecordSection;
+import com.healthcare.medVault.repository.HealthRecordSummaryRepository;
+import com.healthcare.medVault.repository.PatientHealthRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Precomputed health record summaries for the patient dashboard. The health_record_summaries row
+ * is updated in the same transaction as every section write, and a bounded in-memory cache in
+ * front of it turns a dashboard load into a map hit or a single primary-key read. Records written
+ * before the table existed get their row built from the full record on first read.
+ */
+@Slf4j
+@Component
+public class HealthRecordSummaryStore {
+
+    private static final String CACHE_NAME = "health_record_summaries";
+    private static final int REMINDER_WINDOW_DAYS = 7;
+    private static final Snapshot EMPTY = new Snapshot(0, 0, List.of(), null);
+
+    private record Snapshot(int filledSections, int activeMedications, List<LocalDate> reminderDates,
+                            LocalDateTime lastUpdated) {
+    }
+
+    private final HealthRecordSummaryRepository summaryRepository;
+    private final PatientHealthRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final HealthRecordSectionCodec sectionCodec;
+    private final Cache<String, Snapshot> cache;
+
+    public HealthRecordSummaryStore(HealthRecordSummaryRepository summaryRepository,
+                                    PatientHealthRecordRepository recordRepository,
+                                    ObjectMapper objectMapper,
+                                    HealthRecordSectionCodec sectionCodec,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${health-records.summary-cache.max-entries:10000}") long maxEntries,
+                                    @Value("${health-records.summary-cache.ttl:10m}") Duration ttl) {
+        this.summaryRepository = summaryRepository;
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.sectionCodec = sectionCodec;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public HealthRecordSummaryDTO getSummary(String patientId) {
+        Snapshot snapshot = cache.get(patientId, this::load);
+
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(REMINDER_WINDOW_DAYS);
+        int upcomingReminders = (int) snapshot.reminderDates().stream()
+                .filter(date -> !date.isBefore(today) && !date.isAfter(horizon))
+                .count();
+
+        HealthRecordSummaryDTO summary = new HealthRecordSummaryDTO();
+        summary.setCompletionPercentage(
+                Integer.bitCount(snapshot.filledSections()) * 100 / HealthRecordSection.values().length);
+        summary.setLastUpdated(snapshot.lastUpdated() != null ? snapshot.lastUpdated().toString() : null);
+        summary.setActiveMedications(snapshot.activeMedications());
+        summary.setUpcomingReminders(upcomingReminders);
+        return summary;
+    }
+
+    // Full rebuild from the entity, used when a record is created
+    public void rebuild(PatientHealthRecord record) {
+        summaryRepository.save(fromRecord(record));
+        evictAfterCommit(record.getPatientId());
+    }
+
+    // Incremental update from the sections of a targeted write; the other sections are not read
+    public void sectionsWritten(String patientId, Map<HealthRecordSection, Object> sections, LocalDateTime updatedAt) {
+        int mask = 0;
+        int filled = 0;
+        for (Map.Entry<HealthRecordSection, Object> entry : sections.entrySet()) {
+            int bit = 1 << entry.getKey().ordinal();
+            mask |= bit;
+            if (hasData(objectMapper.valueToTree(entry.getValue()))) {
+                filled |= bit;
+            }
+        }
+        summaryRepository.updateFilledSections(patientId, mask, filled, updatedAt);
+
+        if (sections.containsKey(HealthRecordSection.CURRENT_HEALTH)) {
+            try {
+                CurrentHealthDataDTO currentHealth = sectionCodec.convert(
+                        HealthRecordSection.CURRENT_HEALTH, sections.get(HealthRecordSection.CURRENT_HEALTH));
+                summaryRepository.updateMedications(patientId, activeMedications(currentHealth),
+                        objectMapper.writeValueAsString(reminderDates(currentHealth)));
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                log.warn("Medication summary not updated for patient {}: {}", patientId, e.getMessage());
+            }
+        }
+        evictAfterCommit(patientId);
+    }
+
+    public void deleted(String patientId) {
+        summaryRepository.deleteById(patientId);
+        evictAfterCommit(patientId);
+    }
+
+    private Snapshot load(String patientId) {
+        Optional<HealthRecordSummary> stored = summaryRepository.findById(patientId);
+        if (stored.isPresent()) {
+            return toSnapshot(stored.get());
+        }
+
+        return recordRepository.findByPatientId(patientId)
+                .map(record -> {
+                    HealthRecordSummary summary = fromRecord(record);
+                    try {
+                        summaryRepository.save(summary);
+                    } catch (DataIntegrityViolationException ex) {
+                        // A concurrent request built the row first
+                    }
+                    return toSnapshot(summary);
+                })
+                .orElse(EMPTY);
+    }
+
+    private HealthRecordSummary fromRecord(PatientHealthRecord record) {
+        int filled = 0;
+        for (HealthRecordSection section : HealthRecordSection.values()) {
+            if (hasData(readTree(sectionCodec.columnJson(record, section)))) {
+                filled |= 1 << section.ordinal();
+            }
+        }
+
+        CurrentHealthDataDTO currentHealth = null;
+        try {
+            currentHealth = sectionCodec.read(HealthRecordSection.CURRENT_HEALTH, record.getCurrentHealth());
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable current health for patient {}: {}", record.getPatientId(), e.getMessage());
+        }
+
+        HealthRecordSummary summary = new HealthRecordSummary();
+        summary.setPatientId(record.getPatientId());
+        summary.setFilledSections(filled);
+        summary.setActiveMedications(activeMedications(currentHealth));
+        summary.setReminderDates(writeJson(reminderDates(currentHealth)));
+        summary.setLastUpdated(record.getUpdatedAt());
+        return summary;
+    }
+
+    private Snapshot toSnapshot(HealthRecordSummary summary) {
+        List<LocalDate> reminderDates = List.of();
+        try {
+            if (summary.getReminderDates() != null) {
+                reminderDates = objectMapper.readValue(summary.getReminderDates(), new TypeReference<>() {});
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable reminder dates for patient {}: {}", summary.getPatientId(), e.getMessage());
+        }
+        return new Snapshot(summary.getFilledSections(), summary.getActiveMedications(), reminderDates,
+                summary.getLastUpdated());
+    }
+
+    // A section counts as filled once it holds something other than null, {} or []
+    private boolean hasData(JsonNode node) {
+        return node != null && !node.isNull() && !node.isMissingNode()
+                && !(node.isContainerNode() && node.isEmpty());
+    }
+
+    private int activeMedications(CurrentHealthDataDTO currentHealth) {
+        return (int) activeMedicationList(currentHealth).count();
+    }
+
+    private List<LocalDate> reminderDates(CurrentHealthDataDTO currentHealth) {
+        return activeMedicationList(currentHealth)
+                .map(medication -> parseDate(medication.getEndDate()))
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+    }
+
+    private Stream<CurrentMedicationDTO> activeMedicationList(CurrentHealthDataDTO currentHealth) {
+        if (currentHealth == null || currentHealth.getMedications() == null) {
+            return Stream.empty();
+        }
+        return currentHealth.getMedications().stream()
+                .filter(Objects::nonNull)
+                .filter(medication -> Boolean.TRUE.equals(medication.getIsActive()));
+    }
+
+    // End dates come as "2025-01-31" or as a full ISO timestamp
+    private LocalDate parseDate(String value) {
+        if (value == null || value.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private JsonNode readTree(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize health record summary", e);
+        }
+    }
+
+    // Evicting after commit keeps a concurrent reader from caching the pre-write row
+    private void evictAfterCommit(String patientId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(patientId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(patientId);
+            }
+        });
+    }
+}
@@ -0,0 +1,193 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.healthcare.medVault.exception.ValidationException;
+
+import java.util.Map;
+
+/**
+ * JSON Patch (RFC 6902) and JSON Merge Patch (RFC 7396) applied to Jackson trees. Both work on a
+ * copy of the target and leave the original untouched; a patch that cannot be applied fails
+ * with a ValidationException and nothing is changed.
+ */
+public final class JsonPatches {
+
+    private JsonPatches() {
+    }
+
+    public static JsonNode applyJsonPatch(JsonNode target, JsonNode patch) {
+        if (patch == null || !patch.isArray()) {
+            throw new ValidationException("JSON Patch document must be an array of operations");
+        }
+
+        JsonNode root = target == null ? NullNode.getInstance() : target.deepCopy();
+        for (JsonNode operation : patch) {
+            root = applyOperation(root, operation);
+        }
+        return root;
+    }
+
+    public static JsonNode applyMergePatch(JsonNode target, JsonNode patch) {
+        return merge(target == null ? NullNode.getInstance() : target.deepCopy(), patch);
+    }
+
+    private static JsonNode applyOperation(JsonNode root, JsonNode operation) {
+        String op = requiredText(operation, "op");
+        JsonPointer path = pointer(requiredText(operation, "path"));
+
+        return switch (op) {
+            case "add" -> add(root, path, requiredValue(operation));
+            case "remove" -> remove(root, path);
+            case "replace" -> add(remove(root, path), path, requiredValue(operation));
+            case "move" -> {
+                JsonPointer from = pointer(requiredText(operation, "from"));
+                if (!from.equals(path) && path.toString().startsWith(from + "/")) {
+                    throw new ValidationException("Cannot move " + from + " into its own child " + path);
+                }
+                JsonNode value = existing(root, from);
+                yield add(remove(root, from), path, value);
+            }
+            case "copy" -> add(root, path, existing(root, pointer(requiredText(operation, "from"))).deepCopy());
+            case "test" -> {
+                if (!jsonEquals(existing(root, path), requiredValue(operation))) {
+                    throw new ValidationException("Test failed at " + path);
+                }
+                yield root;
+            }
+            default -> throw new ValidationException("Unsupported JSON Patch operation: " + op);
+        };
+    }
+
+    private static JsonNode add(JsonNode root, JsonPointer path, JsonNode value) {
+        if (path.matches()) {
+            return value;
+        }
+
+        JsonNode parent = existing(root, path.head());
+        String name = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object) {
+            object.set(name, value);
+        } else if (parent instanceof ArrayNode array) {
+            if ("-".equals(name)) {
+                array.add(value);
+            } else {
+                array.insert(index(name, array.size(), path), value);
+            }
+        } else {
+            throw new ValidationException("Cannot add to a scalar at " + path);
+        }
+        return root;
+    }
+
+    private static JsonNode remove(JsonNode root, JsonPointer path) {
+        existing(root, path);
+        if (path.matches()) {
+            return NullNode.getInstance();
+        }
+
+        JsonNode parent = root.at(path.head());
+        String name = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object) {
+            object.remove(name);
+        } else if (parent instanceof ArrayNode array) {
+            array.remove(index(name, array.size() - 1, path));
+        }
+        return root;
+    }
+
+    private static JsonNode merge(JsonNode target, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            return patch == null ? NullNode.getInstance() : patch.deepCopy();
+        }
+
+        ObjectNode result = target instanceof ObjectNode object ? object : JsonNodeFactory.instance.objectNode();
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                JsonNode current = result.get(field.getKey());
+                result.set(field.getKey(), merge(current, field.getValue()));
+            }
+        }
+        return result;
+    }
+
+    // RFC 6902 section 4.6: numbers are equal by value (1 and 1.0), containers compare member-wise
+    private static boolean jsonEquals(JsonNode left, JsonNode right) {
+        if (left.isNumber() && right.isNumber()) {
+            return left.decimalValue().compareTo(right.decimalValue()) == 0;
+        }
+        if (left.isArray() && right.isArray()) {
+            if (left.size() != right.size()) {
+                return false;
+            }
+            for (int i = 0; i < left.size(); i++) {
+                if (!jsonEquals(left.get(i), right.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (left.isObject() && right.isObject()) {
+            if (left.size() != right.size()) {
+                return false;
+            }
+            for (Map.Entry<String, JsonNode> field : left.properties()) {
+                JsonNode other = right.get(field.getKey());
+                if (other == null || !jsonEquals(field.getValue(), other)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return left.equals(right);
+    }
+
+    private static JsonNode existing(JsonNode root, JsonPointer path) {
+        JsonNode node = root.at(path);
+        if (node.isMissingNode()) {
+            throw new ValidationException("No value at " + path);
+        }
+        return node;
+    }
+
+    private static int index(String token, int max, JsonPointer path) {
+        // RFC 6901 array indexes are decimal without leading zeros
+        if (!token.matches("0|[1-9][0-9]{0,8}")) {
+            throw new ValidationException("Invalid array index at " + path);
+        }
+        int index = Integer.parseInt(token);
+        if (index > max) {
+            throw new ValidationException("Array index out of bounds at " + path);
+        }
+        return index;
+    }
+
+    private static JsonPointer pointer(String expression) {
+        try {
+            return JsonPointer.compile(expression);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid JSON Pointer: " + expression);
+        }
+    }
+
+    private static String requiredText(JsonNode operation, String field) {
+        JsonNode value = operation.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new ValidationException("JSON Patch operation is missing \"" + field + "\"");
+        }
+        return value.asText();
+    }
+
+    private static JsonNode requiredValue(JsonNode operation) {
+        if (!operation.has("value")) {
+            throw new ValidationException("JSON Patch operation is missing \"value\"");
+        }
+        return operation.get("value").deepCopy();
+    }
+}
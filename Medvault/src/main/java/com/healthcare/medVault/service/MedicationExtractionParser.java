@@ -0,0 +1,77 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.PrescriptionItemDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the Markdown returned by summary_service's /extract_medicines/ prompt:
+ * <pre>
+ * * Medicine Name: Paracetamol
+ *   Dosage: 500 mg
+ *   Frequency: Twice daily
+ *   Route of Administration: Oral
+ *   Duration: 5 days
+ * </pre>
+ * Tolerates bold markers, numbered lists, extra blank lines and fields in any order; "N/A" values become null.
+ */
+@Component
+public class MedicationExtractionParser {
+
+    // Optional bullet or list number ("1." / "2)"), then "Key: value"
+    private static final Pattern FIELD = Pattern.compile("^[\\s*\\-•]*(?:\\d+[.)]\\s*)?([A-Za-z ]+?)\\s*:\\s*(.*)$");
+
+    public List<PrescriptionItemDTO> parse(String markdown) {
+        List<PrescriptionItemDTO> items = new ArrayList<>();
+        if (markdown == null || markdown.isBlank()) {
+            return items;
+        }
+
+        PrescriptionItemDTO current = null;
+        for (String rawLine : markdown.split("\\R")) {
+            Matcher matcher = FIELD.matcher(rawLine.replace("**", "").replace("__", ""));
+            if (!matcher.matches()) {
+                continue;
+            }
+            String key = matcher.group(1).trim().toLowerCase(Locale.ROOT);
+            String value = clean(matcher.group(2));
+
+            if (key.equals("medicine name") || key.equals("medication name") || key.equals("medicine")) {
+                current = new PrescriptionItemDTO();
+                current.setMedicationName(value);
+                items.add(current);
+                continue;
+            }
+            if (current == null) {
+                continue;
+            }
+            switch (key) {
+                case "dosage", "dose" -> current.setDose(value);
+                case "frequency" -> current.setFrequency(value);
+                case "duration" -> current.setDuration(value);
+                case "route of administration", "route" ->
+                        current.setInstructions(value != null ? "Route: " + value : null);
+                default -> {
+                    // Unknown fields are ignored
+                }
+            }
+        }
+
+        items.removeIf(item -> item.getMedicationName() == null);
+        return items;
+    }
+
+    private String clean(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty() || trimmed.equalsIgnoreCase("n/a") || trimmed.equalsIgnoreCase("na")
+                || trimmed.equals("-")) {
+            return null;
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,10 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.ExtractedMedicationsDTO;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+
+public interface MedicationExtractionService {
+    Mono<ExtractedMedicationsDTO> extract(MultipartFile file, Long patientId, Long appointmentId, Long doctorId,
+                                          boolean createDraft);
+}
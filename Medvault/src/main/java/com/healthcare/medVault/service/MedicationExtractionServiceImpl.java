@@ -0,0 +1,85 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.medVault.dto.ExtractedMedicationsDTO;
+import com.healthcare.medVault.dto.PrescriptionItemDTO;
+import com.healthcare.medVault.dto.PrescriptionRequestDTO;
+import com.healthcare.medVault.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class MedicationExtractionServiceImpl implements MedicationExtractionService {
+
+    private final SummaryServiceClient summaryServiceClient;
+    private final MedicationExtractionParser medicationExtractionParser;
+    private final PrescriptionService prescriptionService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<ExtractedMedicationsDTO> extract(MultipartFile file, Long patientId, Long appointmentId,
+                                                 Long doctorId, boolean createDraft) {
+        if (createDraft && patientId == null) {
+            return Mono.error(new ValidationException("patientId is required to create a draft prescription"));
+        }
+
+        // Goes through the content-hash cache, so the same image is only sent upstream once
+        SummaryServiceClient.SummarySource source =
+                new SummaryServiceClient.SummarySource(file, file.getOriginalFilename(), file.getContentType());
+
+        return summaryServiceClient.fetch(SummaryServiceClient.EXTRACT_MEDICINES_PATH, source)
+                .map(this::toExtraction)
+                .flatMap(extraction -> {
+                    if (!createDraft || extraction.getItems().isEmpty()) {
+                        return Mono.just(extraction);
+                    }
+                    PrescriptionRequestDTO draft = new PrescriptionRequestDTO();
+                    draft.setPatientId(patientId);
+                    draft.setAppointmentId(appointmentId);
+                    draft.setDoctorId(doctorId);
+                    draft.setItems(extraction.getItems());
+                    draft.setNotes("Extracted from " + (file.getOriginalFilename() != null
+                            ? file.getOriginalFilename() : "an uploaded prescription"));
+
+                    return Mono.fromCallable(() -> prescriptionService.createDraftPrescription(draft))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(prescription -> {
+                                extraction.setDraftPrescription(prescription);
+                                return extraction;
+                            });
+                });
+    }
+
+    private ExtractedMedicationsDTO toExtraction(ResponseEntity<String> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RuntimeException("Medicine extraction failed with status " + response.getStatusCode().value());
+        }
+
+        JsonNode body;
+        try {
+            body = objectMapper.readTree(response.getBody());
+        } catch (JsonProcessingException ex) {
+            throw new RuntimeException("Medicine extraction returned an unreadable response", ex);
+        }
+        if (body == null || body.has("error")) {
+            throw new ValidationException(body != null ? body.get("error").asText() : "Medicine extraction returned no result");
+        }
+
+        String rawText = body.path("summary").asText(null);
+        List<PrescriptionItemDTO> items = medicationExtractionParser.parse(rawText);
+
+        ExtractedMedicationsDTO extraction = new ExtractedMedicationsDTO();
+        extraction.setItems(items);
+        extraction.setRawText(rawText);
+        return extraction;
+    }
+}
@@ -0,0 +1,62 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Non-blocking client for the specialization prediction model service
+@Service
+public class ModelServiceClient {
+
+    private final WebClient webClient;
+
+    public ModelServiceClient(@Qualifier("modelWebClient") WebClient modelWebClient) {
+        this.webClient = modelWebClient;
+    }
+
+    public Mono<ResponseEntity<String>> predict(Object payload) {
+        return webClient.post()
+                .uri("/predict")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(payload)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+                .toEntity(String.class);
+    }
+
+    // Predictions for several inputs in one call, in request order
+    public Mono<List<JsonNode>> predictBatch(List<Map<String, Object>> items) {
+        return webClient.post()
+                .uri("/predict_batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("items", items))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(response -> {
+                    List<JsonNode> predictions = new ArrayList<>();
+                    response.path("predictions").forEach(predictions::add);
+                    return predictions;
+                });
+    }
+
+    public Mono<String> predictSpecialization(String symptomsText) {
+        return webClient.post()
+                .uri("/predict")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("text", symptomsText))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .mapNotNull(response -> response.get("prediction"))
+                .map(String::valueOf);
+    }
+}
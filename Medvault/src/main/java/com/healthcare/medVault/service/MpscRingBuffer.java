@@ -0,0 +1,67 @@
+package com.healthcare.medVault.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer. Producers claim a slot
+ * with one CAS on the tail and publish into it; the consumer takes published slots in order and
+ * frees them. When the buffer is full, offer fails immediately instead of blocking the caller.
+ */
+final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Only written by the consumer
+    private volatile long head;
+
+    MpscRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    boolean offer(E element) {
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+
+        slots.setRelease((int) (claimed & mask), element);
+        return true;
+    }
+
+    // Consumer side only; stops at the first slot that is claimed but not yet published
+    int drainTo(List<E> sink, int limit) {
+        long current = head;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (current & mask);
+            E element = slots.getAcquire(index);
+            if (element == null) {
+                break;
+            }
+            slots.setPlain(index, null);
+            sink.add(element);
+            current++;
+            drained++;
+        }
+        // The volatile write publishes the freed slots to producers
+        head = current;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -1,8 +1,14 @@
 package com.healthcare.medVault.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.healthcare.medVault.dto.HealthRecordSectionValue;
 import com.healthcare.medVault.dto.PatientHealthRecordDTO;
 import com.healthcare.medVault.dto.HealthRecordSummaryDTO;
+import com.healthcare.medVault.dto.HealthRecordUpdateRequestDTO;
+import com.healthcare.medVault.helper.BloodGroup;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 public interface PatientHealthRecordService {
@@ -13,6 +19,19 @@ public interface PatientHealthRecordService {
 
     PatientHealthRecordDTO updateHealthRecordSection(String patientId, String section, Object data);
 
+    HealthRecordSectionValue updateSection(String patientId, String section, Object data, String ifMatch);
+
+    HealthRecordSectionValue applyJsonPatch(String patientId, String section, JsonNode patch, String ifMatch);
+
+    HealthRecordSectionValue applyMergePatch(String patientId, String section, JsonNode patch, String ifMatch);
+
+    PatientHealthRecordDTO bulkUpdateHealthRecord(String patientId, List<HealthRecordUpdateRequestDTO> updates);
+
+    Optional<HealthRecordSectionValue> getHealthRecordSection(String patientId, String section);
+
+    List<String> searchPatients(String activeCondition, BloodGroup bloodGroup,
+                                BigDecimal minBmi, BigDecimal maxBmi, int limit);
+
     void deleteHealthRecord(String patientId);
 
     HealthRecordSummaryDTO getHealthRecordSummary(String patientId);
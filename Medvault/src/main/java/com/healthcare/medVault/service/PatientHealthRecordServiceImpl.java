@@ -2,134 +2,265 @@
 package com.healthcare.medVault.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.healthcare.medVault.dto.*;
 import com.healthcare.medVault.entity.PatientHealthRecord;
+import com.healthcare.medVault.exception.PreconditionFailedException;
+import com.healthcare.medVault.exception.ValidationException;
+import com.healthcare.medVault.helper.AuditAction;
+import com.healthcare.medVault.helper.AuditResourceType;
+import com.healthcare.medVault.helper.BloodGroup;
+import com.healthcare.medVault.helper.HealthRecordSection;
+import com.healthcare.medVault.repository.HealthRecordSectionRepository;
 import com.healthcare.medVault.repository.PatientHealthRecordRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PatientHealthRecordServiceImpl implements PatientHealthRecordService{
 
+    private static final int MAX_SEARCH_RESULTS = 1000;
+
     private final PatientHealthRecordRepository repository;
 
+    private final HealthRecordSectionRepository sectionRepository;
+
     private final ObjectMapper objectMapper;
 
+    private final HealthRecordSectionCodec sectionCodec;
+
+    private final VitalsService vitalsService;
+
+    private final HealthRecordSummaryStore summaryStore;
+
+    private final AccessAuditLog accessAuditLog;
+
+    private final DoctorRecordViewStore recordViews;
+
     public Optional<PatientHealthRecordDTO> getHealthRecord(String patientId) {
-        return repository.findByPatientId(patientId)
+        Optional<PatientHealthRecordDTO> record = repository.findByPatientId(patientId)
                 .map(this::convertToDTO);
+        record.ifPresent(found -> accessAuditLog.record(
+                AuditResourceType.HEALTH_RECORD, AuditAction.VIEW, patientId, found.getId(), null));
+        return record;
     }
 
     @Transactional
     public PatientHealthRecordDTO createHealthRecord(PatientHealthRecordDTO dto) {
         PatientHealthRecord record = convertToEntity(dto);
         record = repository.save(record);
+        vitalsService.recordSnapshot(record.getPatientId(), dto.getCurrentHealth());
+        summaryStore.rebuild(record);
+        recordViews.recordReplaced(record.getPatientId());
         return convertToDTO(record);
     }
 
     @Transactional
     public PatientHealthRecordDTO updateHealthRecordSection(String patientId, String section, Object data) {
-        PatientHealthRecord record = repository.findByPatientId(patientId)
+        updateSection(patientId, section, data, null);
+        return loadHealthRecord(patientId);
+    }
+
+    @Transactional
+    public HealthRecordSectionValue updateSection(String patientId, String section, Object data, String ifMatch) {
+        HealthRecordSection target = HealthRecordSection.fromKey(section);
+        LocalDateTime expectedUpdatedAt = null;
+        if (ifMatch != null) {
+            expectedUpdatedAt = sectionRepository.findUpdatedAt(patientId)
+                    .orElseThrow(() -> new RuntimeException("Health record not found for patient: " + patientId));
+            checkIfMatch(patientId, ifMatch, expectedUpdatedAt);
+        }
+
+        Map<HealthRecordSection, Object> sections = new EnumMap<>(HealthRecordSection.class);
+        sections.put(target, bindSection(target, data));
+        Map<HealthRecordSection, String> columns = serializeSections(sections);
+        LocalDateTime updatedAt = writeSections(patientId, columns, activeConditionsJson(sections), expectedUpdatedAt);
+        sectionsWritten(patientId, sections, columns, updatedAt);
+        return new HealthRecordSectionValue(columns.get(target), updatedAt);
+    }
+
+    @Transactional
+    public HealthRecordSectionValue applyJsonPatch(String patientId, String section, JsonNode patch, String ifMatch) {
+        return patchSection(patientId, section, ifMatch, current -> JsonPatches.applyJsonPatch(current, patch));
+    }
+
+    @Transactional
+    public HealthRecordSectionValue applyMergePatch(String patientId, String section, JsonNode patch, String ifMatch) {
+        return patchSection(patientId, section, ifMatch, current -> JsonPatches.applyMergePatch(current, patch));
+    }
+
+    @Transactional
+    public PatientHealthRecordDTO bulkUpdateHealthRecord(String patientId, List<HealthRecordUpdateRequestDTO> updates) {
+        // Later updates to the same section win, as they did when applied one by one
+        Map<HealthRecordSection, Object> sections = new EnumMap<>(HealthRecordSection.class);
+        for (HealthRecordUpdateRequestDTO update : updates) {
+            HealthRecordSection target = HealthRecordSection.fromKey(update.getSection());
+            sections.put(target, bindSection(target, update.getData()));
+        }
+        Map<HealthRecordSection, String> columns = serializeSections(sections);
+        LocalDateTime updatedAt = writeSections(patientId, columns, activeConditionsJson(sections), null);
+        sectionsWritten(patientId, sections, columns, updatedAt);
+        return loadHealthRecord(patientId);
+    }
+
+    private HealthRecordSectionValue patchSection(String patientId, String section, String ifMatch,
+                                                  UnaryOperator<JsonNode> patch) {
+        HealthRecordSection target = HealthRecordSection.fromKey(section);
+        HealthRecordSectionValue current = sectionRepository.findSection(patientId, target)
                 .orElseThrow(() -> new RuntimeException("Health record not found for patient: " + patientId));
+        if (ifMatch != null) {
+            checkIfMatch(patientId, ifMatch, current.updatedAt());
+        }
 
+        JsonNode patched;
         try {
-            extracted(section, data, record);
+            patched = patch.apply(sectionCodec.readTree(current.json()));
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Patched " + target.getKey() + " section is invalid");
+        }
 
-            record.setUpdatedAt(LocalDateTime.now());
-            record = repository.save(record);
-            return convertToDTO(record);
+        Map<HealthRecordSection, Object> sections = new EnumMap<>(HealthRecordSection.class);
+        // The result has to be a valid section, not just valid JSON
+        sections.put(target, bindSection(target, patched));
+        Map<HealthRecordSection, String> columns = serializeSections(sections);
+        String json = columns.get(target);
+        // Always conditional on the version just read, so concurrent edits cannot be lost
+        LocalDateTime updatedAt = writeSections(patientId, columns, activeConditionsJson(sections), current.updatedAt());
+        sectionsWritten(patientId, sections, columns, updatedAt);
+        return new HealthRecordSectionValue(json, updatedAt);
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Error updating health record section", e);
+    // Stored from the bound section rather than the request body or patched tree, so fields the
+    // section does not declare are dropped instead of being persisted and copied into the doctor views
+    private Object bindSection(HealthRecordSection section, Object data) {
+        try {
+            return sectionCodec.convert(section, data);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid " + section.getKey() + " section");
         }
     }
 
-    private void extracted(String section, Object data, PatientHealthRecord record) throws JsonProcessingException {
-        switch (section) {
-            case "basicDemographics":
-                record.setBasicDemographics(objectMapper.writeValueAsString(data));
-                break;
-            case "identification":
-                record.setIdentificationDetails(objectMapper.writeValueAsString(data));
-                break;
-            case "medicalHistory":
-                record.setMedicalHistory(objectMapper.writeValueAsString(data));
-                break;
-            case "lifestyle":
-                record.setLifestyleInfo(objectMapper.writeValueAsString(data));
-                break;
-            case "currentHealth":
-                record.setCurrentHealth(objectMapper.writeValueAsString(data));
-                break;
-            case "documents": // ADDED: Support for documents section
-                record.setDocuments(objectMapper.writeValueAsString(data));
-                break;
-            case "consentPreferences":
-                record.setConsentPreferences(objectMapper.writeValueAsString(data));
-                break;
-            default:
-                throw new RuntimeException("Invalid section: " + section);
+    private void checkIfMatch(String patientId, String ifMatch, LocalDateTime updatedAt) {
+        if (!HealthRecordSectionValue.matches(ifMatch, updatedAt)) {
+            throw new PreconditionFailedException("Health record has been modified for patient: " + patientId);
         }
     }
 
-    @Transactional
-    public void deleteHealthRecord(String patientId) {
-        repository.deleteByPatientId(patientId);
+    private LocalDateTime writeSections(String patientId, Map<HealthRecordSection, String> columns,
+                                        String activeConditions, LocalDateTime expectedUpdatedAt) {
+        // updated_at is the ETag, so store exactly what MySQL's DATETIME(6) can hold
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = sectionRepository.updateSections(patientId, columns, activeConditions, updatedAt, expectedUpdatedAt);
+        if (updated == 0) {
+            if (expectedUpdatedAt != null) {
+                throw new PreconditionFailedException("Health record has been modified for patient: " + patientId);
+            }
+            throw new RuntimeException("Health record not found for patient: " + patientId);
+        }
+        return updatedAt;
     }
 
-    public HealthRecordSummaryDTO getHealthRecordSummary(String patientId) {
-        Optional<PatientHealthRecord> recordOpt = repository.findByPatientId(patientId);
+    private Map<HealthRecordSection, String> serializeSections(Map<HealthRecordSection, Object> sections) {
+        try {
+            Map<HealthRecordSection, String> columns = new EnumMap<>(HealthRecordSection.class);
+            for (Map.Entry<HealthRecordSection, Object> entry : sections.entrySet()) {
+                columns.put(entry.getKey(), sectionCodec.write(entry.getKey(), entry.getValue()));
+            }
+            return columns;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error updating health record section", e);
+        }
+    }
 
-        HealthRecordSummaryDTO summary = new HealthRecordSummaryDTO();
-        summary.setCompletionPercentage(calculateCompletionPercentage(recordOpt.orElse(null)));
-        summary.setLastUpdated(recordOpt.map(r -> r.getUpdatedAt().toString()).orElse(null));
-        summary.setActiveMedications(0); // You'll need to implement this based on medications
-        summary.setUpcomingReminders(0); // You'll need to implement this
+    // Null unless the medical history is among the written sections
+    private String activeConditionsJson(Map<HealthRecordSection, Object> sections) {
+        if (!sections.containsKey(HealthRecordSection.MEDICAL_HISTORY)) {
+            return null;
+        }
+        try {
+            List<MedicalHistoryItemDTO> items = sectionCodec.convert(
+                    HealthRecordSection.MEDICAL_HISTORY, sections.get(HealthRecordSection.MEDICAL_HISTORY));
+            return objectMapper.writeValueAsString(HealthRecordConditions.activeConditions(items));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new RuntimeException("Error updating health record section", e);
+        }
+    }
 
-        return summary;
+    // Keeps the dashboard summary and doctor views current and appends current health vitals to the time series
+    private void sectionsWritten(String patientId, Map<HealthRecordSection, Object> sections,
+                                 Map<HealthRecordSection, String> columns, LocalDateTime updatedAt) {
+        summaryStore.sectionsWritten(patientId, sections, updatedAt);
+        recordViews.sectionsWritten(patientId, columns);
+        if (!sections.containsKey(HealthRecordSection.CURRENT_HEALTH)) {
+            return;
+        }
+        try {
+            vitalsService.recordSnapshot(patientId, sectionCodec.<CurrentHealthDataDTO>convert(
+                    HealthRecordSection.CURRENT_HEALTH, sections.get(HealthRecordSection.CURRENT_HEALTH)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping vitals for patient {}: {}", patientId, e.getMessage());
+        }
     }
 
-    private int calculateCompletionPercentage(PatientHealthRecord record) {
-        if (record == null) return 0;
+    private PatientHealthRecordDTO loadHealthRecord(String patientId) {
+        return repository.findByPatientId(patientId)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new RuntimeException("Health record not found for patient: " + patientId));
+    }
 
-        int completedSections = 0;
-        int totalSections = 7; // UPDATED: Changed from 6 to 7 to include documents
+    public Optional<HealthRecordSectionValue> getHealthRecordSection(String patientId, String section) {
+        HealthRecordSection target = HealthRecordSection.fromKey(section);
+        Optional<HealthRecordSectionValue> value = sectionRepository.findSection(patientId, target);
+        value.ifPresent(found -> accessAuditLog.record(
+                AuditResourceType.HEALTH_RECORD_SECTION, AuditAction.VIEW, patientId, target.getKey(), null));
+        return value;
+    }
 
-        try {
-            if (record.getBasicDemographics() != null && !record.getBasicDemographics().isEmpty()) completedSections++;
-            if (record.getIdentificationDetails() != null && !record.getIdentificationDetails().isEmpty()) completedSections++;
-            if (record.getMedicalHistory() != null && !record.getMedicalHistory().isEmpty()) completedSections++;
-            if (record.getLifestyleInfo() != null && !record.getLifestyleInfo().isEmpty()) completedSections++;
-            if (record.getCurrentHealth() != null && !record.getCurrentHealth().isEmpty()) completedSections++;
-            if (record.getDocuments() != null && !record.getDocuments().isEmpty()) completedSections++; // ADDED: Check documents
-            if (record.getConsentPreferences() != null && !record.getConsentPreferences().isEmpty()) completedSections++;
-        } catch (Exception e) {
-            // Handle exception
-        }
+    public List<String> searchPatients(String activeCondition, BloodGroup bloodGroup,
+                                       BigDecimal minBmi, BigDecimal maxBmi, int limit) {
+        return sectionRepository.searchPatientIds(HealthRecordConditions.normalize(activeCondition),
+                bloodGroup, minBmi, maxBmi, Math.clamp(limit, 1, MAX_SEARCH_RESULTS));
+    }
 
-        return (completedSections * 100) / totalSections;
+    @Transactional
+    public void deleteHealthRecord(String patientId) {
+        repository.deleteByPatientId(patientId);
+        summaryStore.deleted(patientId);
+        recordViews.recordReplaced(patientId);
     }
 
-    private PatientHealthRecord convertToEntity(PatientHealthRecordDTO dto) {
+    public HealthRecordSummaryDTO getHealthRecordSummary(String patientId) {
+        return summaryStore.getSummary(patientId);
+    }
+
+    PatientHealthRecord convertToEntity(PatientHealthRecordDTO dto) {
         PatientHealthRecord entity = new PatientHealthRecord();
         entity.setPatientId(dto.getPatientId());
 
         try {
-            entity.setBasicDemographics(objectMapper.writeValueAsString(dto.getBasicDemographics()));
-            entity.setIdentificationDetails(objectMapper.writeValueAsString(dto.getIdentification()));
-            entity.setMedicalHistory(objectMapper.writeValueAsString(dto.getMedicalHistory()));
-            entity.setLifestyleInfo(objectMapper.writeValueAsString(dto.getLifestyle()));
-            entity.setCurrentHealth(objectMapper.writeValueAsString(dto.getCurrentHealth()));
-            entity.setDocuments(objectMapper.writeValueAsString(dto.getDocuments())); // ADDED: Handle documents
-            entity.setConsentPreferences(objectMapper.writeValueAsString(dto.getConsentPreferences()));
+            entity.setBasicDemographics(sectionCodec.write(HealthRecordSection.BASIC_DEMOGRAPHICS, dto.getBasicDemographics()));
+            entity.setIdentificationDetails(sectionCodec.write(HealthRecordSection.IDENTIFICATION, dto.getIdentification()));
+            entity.setMedicalHistory(sectionCodec.write(HealthRecordSection.MEDICAL_HISTORY, dto.getMedicalHistory()));
+            entity.setActiveConditions(objectMapper.writeValueAsString(
+                    HealthRecordConditions.activeConditions(dto.getMedicalHistory())));
+            entity.setLifestyleInfo(sectionCodec.write(HealthRecordSection.LIFESTYLE, dto.getLifestyle()));
+            entity.setCurrentHealth(sectionCodec.write(HealthRecordSection.CURRENT_HEALTH, dto.getCurrentHealth()));
+            entity.setDocuments(sectionCodec.write(HealthRecordSection.DOCUMENTS, dto.getDocuments()));
+            entity.setConsentPreferences(sectionCodec.write(HealthRecordSection.CONSENT_PREFERENCES, dto.getConsentPreferences()));
         } catch (Exception e) {
             throw new RuntimeException("Error converting DTO to entity", e);
         }
@@ -143,29 +274,13 @@ public class PatientHealthRecordServiceImpl implements PatientHealthRecordServic
         dto.setPatientId(entity.getPatientId());
 
         try {
-            if (entity.getBasicDemographics() != null) {
-                dto.setBasicDemographics(objectMapper.readValue(entity.getBasicDemographics(), BasicDemographicsDTO.class));
-            }
-            if (entity.getIdentificationDetails() != null) {
-                dto.setIdentification(objectMapper.readValue(entity.getIdentificationDetails(), IdentificationDetailsDTO.class));
-            }
-            if (entity.getMedicalHistory() != null) {
-                dto.setMedicalHistory(objectMapper.readValue(entity.getMedicalHistory(),
-                        new TypeReference<List<MedicalHistoryItemDTO>>() {}));
-            }
-            if (entity.getLifestyleInfo() != null) {
-                dto.setLifestyle(objectMapper.readValue(entity.getLifestyleInfo(), LifestyleInformationDTO.class));
-            }
-            if (entity.getCurrentHealth() != null) {
-                dto.setCurrentHealth(objectMapper.readValue(entity.getCurrentHealth(), CurrentHealthDataDTO.class));
-            }
-            if (entity.getDocuments() != null) { // ADDED: Handle documents
-                dto.setDocuments(objectMapper.readValue(entity.getDocuments(),
-                        new TypeReference<List<HealthDocumentDTO>>() {}));
-            }
-            if (entity.getConsentPreferences() != null) {
-                dto.setConsentPreferences(objectMapper.readValue(entity.getConsentPreferences(), ConsentPreferencesDTO.class));
-            }
+            dto.setBasicDemographics(sectionCodec.read(HealthRecordSection.BASIC_DEMOGRAPHICS, entity.getBasicDemographics()));
+            dto.setIdentification(sectionCodec.read(HealthRecordSection.IDENTIFICATION, entity.getIdentificationDetails()));
+            dto.setMedicalHistory(sectionCodec.read(HealthRecordSection.MEDICAL_HISTORY, entity.getMedicalHistory()));
+            dto.setLifestyle(sectionCodec.read(HealthRecordSection.LIFESTYLE, entity.getLifestyleInfo()));
+            dto.setCurrentHealth(sectionCodec.read(HealthRecordSection.CURRENT_HEALTH, entity.getCurrentHealth()));
+            dto.setDocuments(sectionCodec.read(HealthRecordSection.DOCUMENTS, entity.getDocuments()));
+            dto.setConsentPreferences(sectionCodec.read(HealthRecordSection.CONSENT_PREFERENCES, entity.getConsentPreferences()));
         } catch (Exception e) {
             throw new RuntimeException("Error converting entity to DTO", e);
         }
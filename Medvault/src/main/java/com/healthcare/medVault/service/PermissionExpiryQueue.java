@@ -0,0 +1,126 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.PermissionExpiry;
+import com.healthcare.medVault.repository.DocumentPermissionRequestRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires approved document permissions at their expiry time. Every approval is put on a
+ * DelayQueue, and a single worker takes grants as they come due and marks them expired with one
+ * UPDATE per batch, so expiry work follows the number of expiring grants rather than the size of
+ * document_permission_requests. On startup anything that lapsed while the application was down is
+ * expired with one set-based UPDATE and the still-active grants are queued again.
+ */
+@Slf4j
+@Component
+public class PermissionExpiryQueue {
+
+    private final DocumentPermissionRequestRepository permissionRepository;
+    private final DocumentPermissionIndex permissionIndex;
+    private final DelayQueue<Pending> queue = new DelayQueue<>();
+    private final int batchSize;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public PermissionExpiryQueue(DocumentPermissionRequestRepository permissionRepository,
+                                 DocumentPermissionIndex permissionIndex,
+                                 @Value("${document-permissions.expiry.batch-size:500}") int batchSize) {
+        this.permissionRepository = permissionRepository;
+        this.permissionIndex = permissionIndex;
+        this.batchSize = Math.max(1, batchSize);
+        this.worker = Thread.ofPlatform().name("permission-expiry").daemon().start(this::runWorker);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = permissionRepository.expirePermissionsBefore(now);
+        List<PermissionExpiry> pending = permissionRepository.findPendingExpiries(now);
+        pending.forEach(this::schedule);
+        log.info("Expired {} lapsed document permissions, scheduled {} for expiry", expired, pending.size());
+    }
+
+    // A grant that is revoked or re-approved before it fires is left queued; the UPDATE only
+    // matches rows that are still active and past their current expiry, so a stale entry is a no-op
+    public void schedule(PermissionExpiry expiry) {
+        if (expiry.expiresAt() != null) {
+            queue.put(new Pending(expiry, deadlineMillis(expiry.expiresAt())));
+        }
+    }
+
+    // expiresAt carries microseconds; rounding up keeps the worker from waking just before it
+    private static long deadlineMillis(LocalDateTime expiresAt) {
+        Instant instant = expiresAt.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.toEpochMilli() + (instant.getNano() % 1_000_000 == 0 ? 0 : 1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void runWorker() {
+        List<Pending> due = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                due.add(queue.take());
+                queue.drainTo(due, batchSize - 1);
+                expire(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // The hourly sweep in PermissionCleanupScheduler picks these rows up
+                log.warn("Could not expire {} document permissions: {}", due.size(), e.getMessage());
+            } finally {
+                due.clear();
+            }
+        }
+    }
+
+    private void expire(List<Pending> due) {
+        List<Long> ids = due.stream().map(pending -> pending.expiry().permissionId()).toList();
+        // Never earlier than the grants being expired, in case the clocks disagree on when they came due
+        LocalDateTime cutoff = LocalDateTime.now();
+        for (Pending pending : due) {
+            if (pending.expiry().expiresAt().isAfter(cutoff)) {
+                cutoff = pending.expiry().expiresAt();
+            }
+        }
+        permissionRepository.expirePermissions(ids, cutoff);
+
+        for (Pending pending : due) {
+            PermissionExpiry expiry = pending.expiry();
+            permissionIndex.markExpired(expiry.appointmentId(), expiry.documentId(), expiry.permissionId(),
+                    expiry.expiresAt());
+        }
+    }
+
+    private record Pending(PermissionExpiry expiry, long deadlineMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineMillis, ((Pending) other).deadlineMillis);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent specialization predictions into calls to the model service's
+ * /predict_batch route. A single dispatcher takes the first waiting request, then collects
+ * more until model.batch.max-size is reached or model.batch.max-wait has passed. While all
+ * model.batch.max-in-flight batches are busy, requests keep queueing, so batches grow with load
+ * instead of adding round trips.
+ */
+@Slf4j
+@Component
+public class PredictionBatcher {
+
+    private static final Set<String> BATCHABLE_FIELDS = Set.of("text", "threshold");
+
+    private final ModelServiceClient modelServiceClient;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxWait;
+    private final Semaphore inFlight;
+    private final BlockingQueue<PendingPrediction> queue;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public PredictionBatcher(ModelServiceClient modelServiceClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${model.batch.enabled:true}") boolean enabled,
+                             @Value("${model.batch.max-size:32}") int maxBatchSize,
+                             @Value("${model.batch.max-wait:5ms}") Duration maxWait,
+                             @Value("${model.batch.max-in-flight:4}") int maxInFlight,
+                             @Value("${model.batch.queue-capacity:10000}") int queueCapacity) {
+        this.modelServiceClient = modelServiceClient;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWait = maxWait;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("model.batch.size")
+                .description("Predictions sent per /predict_batch call")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            running = true;
+            dispatcher = Thread.ofVirtual().name("prediction-batcher").start(this::dispatchLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        List<PendingPrediction> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(p -> p.result().completeExceptionally(new IllegalStateException("Prediction service is shutting down")));
+    }
+
+    // Only plain {text, threshold} payloads are batched; anything else is forwarded as-is
+    public boolean accepts(Map<String, Object> payload) {
+        return enabled
+                && payload.get("text") instanceof String
+                && (payload.get("threshold") == null || payload.get("threshold") instanceof Number)
+                && BATCHABLE_FIELDS.containsAll(payload.keySet());
+    }
+
+    public Mono<JsonNode> predict(Map<String, Object> payload) {
+        return Mono.defer(() -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("text", payload.get("text"));
+            if (payload.get("threshold") != null) {
+                item.put("threshold", payload.get("threshold"));
+            }
+
+            CompletableFuture<JsonNode> result = new CompletableFuture<>();
+            if (!queue.offer(new PendingPrediction(item, result))) {
+                return Mono.error(new IllegalStateException("Prediction queue is full, please retry shortly"));
+            }
+            // Cancelling the Mono cancels the future, which drops the item from batches not yet sent
+            return Mono.fromFuture(result);
+        });
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                List<PendingPrediction> batch = new ArrayList<>(maxBatchSize);
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + maxWait.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingPrediction next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                inFlight.acquire();
+                // Top up with whatever arrived while waiting for a free slot
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                batch.removeIf(p -> p.result().isDone());
+                if (batch.isEmpty()) {
+                    inFlight.release();
+                    continue;
+                }
+                send(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Prediction batch dispatch failed", ex);
+            }
+        }
+    }
+
+    private void send(List<PendingPrediction> batch) {
+        batchSizes.record(batch.size());
+        Mono<List<JsonNode>> call;
+        try {
+            call = modelServiceClient.predictBatch(batch.stream().map(PendingPrediction::item).toList());
+        } catch (RuntimeException ex) {
+            // Nothing was subscribed, so doFinally below will never hand the slot back
+            inFlight.release();
+            fail(batch, ex);
+            return;
+        }
+        call.switchIfEmpty(Mono.error(new IllegalStateException("Model service returned no predictions")))
+                .doFinally(signal -> inFlight.release())
+                .subscribe(predictions -> {
+                    if (predictions.size() != batch.size()) {
+                        fail(batch, new IllegalStateException("Model service returned " + predictions.size()
+                                + " predictions for " + batch.size() + " inputs"));
+                        return;
+                    }
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).result().complete(predictions.get(i));
+                    }
+                }, error -> fail(batch, error));
+    }
+
+    private void fail(List<PendingPrediction> batch, Throwable error) {
+        batch.forEach(p -> p.result().completeExceptionally(error));
+    }
+
+    private record PendingPrediction(Map<String, Object> item, CompletableFuture<JsonNode> result) {
+    }
+}
@@ -7,7 +7,10 @@ import java.util.List;
 
 public interface PrescriptionService {
     PrescriptionResponseDTO createPrescription(PrescriptionRequestDTO requestDTO);
+    PrescriptionResponseDTO createDraftPrescription(PrescriptionRequestDTO requestDTO);
+    PrescriptionResponseDTO confirmDraftPrescription(Long prescriptionId, Long doctorId, Long appointmentId);
     List<PrescriptionResponseDTO> getByAppointmentId(Long appointmentId);
     List<PrescriptionResponseDTO> getByPatientId(Long patientId);
     List<PrescriptionResponseDTO> getByDoctorId(Long doctorId);
+    List<PrescriptionResponseDTO> getDraftsByPatientId(Long patientId);
 }
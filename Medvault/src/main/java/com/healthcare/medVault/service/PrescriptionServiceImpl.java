@@ -9,6 +9,7 @@ import com.healthcare.medVault.entity.Patient;
 import com.healthcare.medVault.entity.Prescription;
 import com.healthcare.medVault.entity.PrescriptionItem;
 import com.healthcare.medVault.exception.ResourceNotFoundException;
+import com.healthcare.medVault.exception.ValidationException;
 import com.healthcare.medVault.repository.AppointmentRepository;
 import com.healthcare.medVault.repository.DoctorRepository;
 import com.healthcare.medVault.repository.PatientRepository;
@@ -17,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -46,8 +48,75 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         prescription.setPatient(patient);
         prescription.setDoctor(doctor);
         prescription.setNotes(requestDTO.getNotes());
+        prescription.setItems(toItems(requestDTO.getItems(), prescription));
 
-        List<PrescriptionItem> items = requestDTO.getItems().stream().map(i -> {
+        Prescription saved = prescriptionRepository.save(prescription);
+
+        return convertToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public PrescriptionResponseDTO createDraftPrescription(PrescriptionRequestDTO requestDTO) {
+        // Drafts only need the patient; appointment and doctor are attached when known
+        Patient patient = patientRepository.findById(requestDTO.getPatientId())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with id: " + requestDTO.getPatientId()));
+
+        Prescription prescription = new Prescription();
+        prescription.setPatient(patient);
+        if (requestDTO.getAppointmentId() != null) {
+            prescription.setAppointment(appointmentRepository.findById(requestDTO.getAppointmentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + requestDTO.getAppointmentId())));
+        }
+        if (requestDTO.getDoctorId() != null) {
+            prescription.setDoctor(doctorRepository.findById(requestDTO.getDoctorId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + requestDTO.getDoctorId())));
+        }
+        prescription.setNotes(requestDTO.getNotes());
+        prescription.setDraft(true);
+        prescription.setItems(toItems(requestDTO.getItems(), prescription));
+
+        Prescription saved = prescriptionRepository.save(prescription);
+
+        return convertToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public PrescriptionResponseDTO confirmDraftPrescription(Long prescriptionId, Long doctorId, Long appointmentId) {
+        Prescription prescription = prescriptionRepository.findById(prescriptionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Prescription not found with id: " + prescriptionId));
+        if (!Boolean.TRUE.equals(prescription.getDraft())) {
+            throw new ValidationException("Prescription " + prescriptionId + " is not a draft");
+        }
+
+        // A draft may have been extracted before the appointment or doctor was known; they can be
+        // given on confirmation, but an issued prescription always has both
+        if (appointmentId != null) {
+            prescription.setAppointment(appointmentRepository.findById(appointmentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + appointmentId)));
+        }
+        if (doctorId != null) {
+            prescription.setDoctor(doctorRepository.findById(doctorId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + doctorId)));
+        }
+        if (prescription.getAppointment() == null || prescription.getDoctor() == null) {
+            throw new ValidationException("Prescription " + prescriptionId + " needs a doctor and an appointment before it can be confirmed");
+        }
+        if (!prescription.getAppointment().getPatient().getId().equals(prescription.getPatient().getId())
+                || !prescription.getAppointment().getDoctor().getId().equals(prescription.getDoctor().getId())) {
+            throw new ValidationException("Appointment " + prescription.getAppointment().getId()
+                    + " is not between this doctor and patient");
+        }
+        prescription.setDraft(false);
+        return convertToDTO(prescriptionRepository.save(prescription));
+    }
+
+    private List<PrescriptionItem> toItems(List<PrescriptionItemDTO> itemDTOs, Prescription prescription) {
+        if (itemDTOs == null) {
+            return new ArrayList<>();
+        }
+        return itemDTOs.stream().map(i -> {
             PrescriptionItem item = new PrescriptionItem();
             item.setMedicationName(i.getMedicationName());
             item.setDose(i.getDose());
@@ -57,12 +126,6 @@ public class PrescriptionServiceImpl implements PrescriptionService {
             item.setPrescription(prescription);
             return item;
         }).collect(Collectors.toList());
-
-        prescription.setItems(items);
-
-        Prescription saved = prescriptionRepository.save(prescription);
-
-        return convertToDTO(saved);
     }
 
     @Override
@@ -80,6 +143,11 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         return prescriptionRepository.findByDoctorId(doctorId).stream().map(this::convertToDTO).collect(Collectors.toList());
     }
 
+    @Override
+    public List<PrescriptionResponseDTO> getDraftsByPatientId(Long patientId) {
+        return prescriptionRepository.findByPatientIdAndDraftTrue(patientId).stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
     private PrescriptionResponseDTO convertToDTO(Prescription p) {
         PrescriptionResponseDTO dto = new PrescriptionResponseDTO();
         dto.setId(p.getId());
@@ -87,6 +155,7 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         dto.setPatientId(p.getPatient() != null ? p.getPatient().getId() : null);
         dto.setDoctorId(p.getDoctor() != null ? p.getDoctor().getId() : null);
         dto.setNotes(p.getNotes());
+        dto.setDraft(Boolean.TRUE.equals(p.getDraft()));
         dto.setCreatedAt(p.getCreatedAt());
         List<PrescriptionItemDTO> items = p.getItems().stream().map(it -> {
             PrescriptionItemDTO i = new PrescriptionItemDTO();
@@ -0,0 +1,34 @@
+package com.healthcare.medVault.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optionally summarizes newly uploaded images and text documents in the background so that the
+ * first summarize request for them is already a cache hit. Off by default because every upload
+ * then costs an upstream model call.
+ */
+@Component
+public class SummaryCachePrewarmer {
+
+    private final SummaryServiceClient summaryServiceClient;
+    private final boolean enabled;
+
+    public SummaryCachePrewarmer(SummaryServiceClient summaryServiceClient,
+                                 @Value("${summary.cache.prewarm-on-upload:false}") boolean enabled) {
+        this.summaryServiceClient = summaryServiceClient;
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    public void onDocumentStored(HealthDocumentStoredEvent event) {
+        String contentType = event.contentType();
+        if (!enabled || contentType == null
+                || !(contentType.startsWith("image/") || contentType.startsWith("text/"))) {
+            return;
+        }
+        summaryServiceClient.prewarmSummary(event.filePath(), event.codec(), event.originalFileName(), contentType)
+                .subscribe();
+    }
+}
@@ -0,0 +1,104 @@
+package com.healthcare.medVault.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthcare.medVault.entity.SummaryCacheEntry;
+import com.healthcare.medVault.repository.SummaryCacheRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Summary service responses keyed by the SHA-256 of the file content, the upstream endpoint and
+ * the prompt version. The summary_cache table is the source of truth; a bounded in-memory cache
+ * in front of it serves repeat requests without a database round trip. Bump
+ * summary.prompt-version whenever the prompts in summary_service change.
+ */
+@Component
+public class SummaryResultCache {
+
+    private static final String CACHE_NAME = "summary_results";
+
+    private final SummaryCacheRepository summaryCacheRepository;
+    private final Cache<String, String> cache;
+    private final String promptVersion;
+
+    public SummaryResultCache(SummaryCacheRepository summaryCacheRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${summary.cache.max-entries:1000}") long maxEntries,
+                              @Value("${summary.prompt-version:2}") String promptVersion) {
+        this.summaryCacheRepository = summaryCacheRepository;
+        this.promptVersion = promptVersion;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<String> get(String contentHash, String endpoint) {
+        String key = cacheKey(contentHash, endpoint);
+        String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<String> stored = summaryCacheRepository
+                .findByContentHashAndEndpointAndPromptVersion(contentHash, endpoint, promptVersion)
+                .map(SummaryCacheEntry::getResponseBody);
+        stored.ifPresent(body -> cache.put(key, body));
+        return stored;
+    }
+
+    public void put(String contentHash, String endpoint, String responseBody) {
+        cache.put(cacheKey(contentHash, endpoint), responseBody);
+
+        if (summaryCacheRepository.findByContentHashAndEndpointAndPromptVersion(contentHash, endpoint, promptVersion)
+                .isPresent()) {
+            return;
+        }
+        SummaryCacheEntry entry = new SummaryCacheEntry();
+        entry.setContentHash(contentHash);
+        entry.setEndpoint(endpoint);
+        entry.setPromptVersion(promptVersion);
+        entry.setResponseBody(responseBody);
+        try {
+            summaryCacheRepository.save(entry);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent request stored the same result first
+        }
+    }
+
+    public String hash(InputStreamSource source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+
+        byte[] buffer = new byte[8192];
+        try (InputStream in = source.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String cacheKey(String contentHash, String endpoint) {
+        return contentHash + ':' + endpoint + ':' + promptVersion;
+    }
+}
@@ -0,0 +1,359 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.medVault.dto.SummaryBatchEvent;
+import com.healthcare.medVault.helper.StorageCodec;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking proxy to the summary service. Uploads are streamed to the upstream request in
+ * fixed-size buffers and the upstream response is streamed back as it arrives, so proxying a
+ * large scan costs a few buffers of heap rather than the file size. Successful responses are
+ * remembered in {@link SummaryResultCache} and replayed for identical content.
+ */
+@Service
+public class SummaryServiceClient {
+
+    public static final String SUMMARIZE_PATH = "/summarize/";
+    public static final String EXTRACT_MEDICINES_PATH = "/extract_medicines/";
+    public static final String SUMMARIZE_BRIEF_PATH = "/summarize_brief/";
+    public static final String MERGE_SUMMARIES_PATH = "/merge_summaries/";
+    public static final String CACHE_STATUS_HEADER = "X-Summary-Cache";
+
+    private static final int BUFFER_SIZE = 8192;
+    // What older summary service builds returned, with a 200, when the model produced no text
+    private static final Set<String> PLACEHOLDER_SUMMARIES = Set.of("⚠️ No summary returned.", "⚠️ No medicine data found.");
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final SummaryResultCache summaryResultCache;
+    private final DocumentStorageCodec storageCodec;
+    private final int fanOutParallelism;
+    private final Duration fileTimeout;
+    private final Duration mergeTimeout;
+
+    public SummaryServiceClient(@Qualifier("summaryWebClient") WebClient summaryWebClient,
+                                ObjectMapper objectMapper,
+                                SummaryResultCache summaryResultCache,
+                                DocumentStorageCodec storageCodec,
+                                @Value("${summary.fan-out.parallelism:4}") int fanOutParallelism,
+                                @Value("${summary.fan-out.file-timeout:60s}") Duration fileTimeout,
+                                @Value("${summary.fan-out.merge-timeout:60s}") Duration mergeTimeout) {
+        this.webClient = summaryWebClient;
+        this.objectMapper = objectMapper;
+        this.summaryResultCache = summaryResultCache;
+        this.storageCodec = storageCodec;
+        this.fanOutParallelism = Math.max(1, fanOutParallelism);
+        this.fileTimeout = fileTimeout;
+        this.mergeTimeout = mergeTimeout;
+    }
+
+    public Mono<ResponseEntity<Flux<String>>> forwardFile(String path, MultipartFile file) {
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload";
+        MediaType contentType = contentTypeOf(file.getContentType());
+
+        return Mono.fromCallable(() -> summaryResultCache.hash(file))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(contentHash -> lookup(contentHash, path)
+                        .map(cached -> ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header(CACHE_STATUS_HEADER, "HIT")
+                                .body(Flux.just(cached)))
+                        .switchIfEmpty(Mono.defer(() -> exchange(path, file, fileName, contentType)
+                                .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .header(CACHE_STATUS_HEADER, "MISS")
+                                        .body(capture(contentHash, path, entity))))))
+                .onErrorResume(ex -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(Flux.just(errorJson(ex)))));
+    }
+
+    // Summarizes a stored document unless an identical one has been summarized before
+    public Mono<Void> prewarmSummary(Path filePath, StorageCodec codec, String fileName, String contentType) {
+        InputStreamSource source = () -> storageCodec.decode(Files.newInputStream(filePath),
+                codec != null ? codec : StorageCodec.IDENTITY);
+
+        return Mono.fromCallable(() -> summaryResultCache.hash(source))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(contentHash -> lookup(contentHash, SUMMARIZE_PATH)
+                        .hasElement()
+                        .filter(cached -> !cached)
+                        .flatMap(missing -> exchange(SUMMARIZE_PATH, source, fileName, contentTypeOf(contentType)))
+                        .flatMap(entity -> capture(contentHash, SUMMARIZE_PATH, entity).then()))
+                .onErrorResume(ex -> Mono.empty());
+    }
+
+    /**
+     * Summarizes each file independently, at most summary.fan-out.parallelism at a time, and
+     * emits a result per file in completion order. A file that fails or exceeds
+     * summary.fan-out.file-timeout is reported and left out of the merged summary that follows.
+     */
+    public Flux<SummaryBatchEvent> summarizeAll(List<MultipartFile> files) {
+        return summarizeSources(files.stream()
+                .map(file -> new SummarySource(file, file.getOriginalFilename(), file.getContentType()))
+                .toList());
+    }
+
+    public Flux<SummaryBatchEvent> summarizeSources(List<SummarySource> sources) {
+        return Flux.defer(() -> {
+            List<String> summaries = new ArrayList<>();
+
+            Flux<SummaryBatchEvent> perFile = Flux.range(0, sources.size())
+                    .flatMap(index -> summarizeBrief(index, sources.get(index)), fanOutParallelism)
+                    // flatMap serializes emissions, so the list needs no extra locking
+                    .doOnNext(event -> {
+                        if ("ok".equals(event.getStatus())) {
+                            summaries.add(event.getSummary());
+                        }
+                    });
+
+            return perFile.concatWith(Mono.defer(() -> mergeSummaries(summaries)));
+        });
+    }
+
+    // Non-streaming variant for background callers; errors are left to the caller so it can retry
+    public Mono<ResponseEntity<String>> fetch(String path, SummarySource source) {
+        return Mono.fromCallable(() -> summaryResultCache.hash(source.source()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(contentHash -> lookup(contentHash, path)
+                        .map(ResponseEntity::ok)
+                        .switchIfEmpty(Mono.defer(() -> exchange(path, source.source(), source.fileNameOrDefault(),
+                                contentTypeOf(source.contentType()))
+                                .flatMap(entity -> capture(contentHash, path, entity)
+                                        .collect(Collectors.joining())
+                                        .map(body -> ResponseEntity.status(entity.getStatusCode()).body(body))))));
+    }
+
+    private Mono<SummaryBatchEvent> summarizeBrief(int index, SummarySource source) {
+        String fileName = source.fileNameOrDefault();
+
+        return Mono.fromCallable(() -> summaryResultCache.hash(source.source()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(contentHash -> lookup(contentHash, SUMMARIZE_BRIEF_PATH)
+                        .switchIfEmpty(Mono.defer(() -> exchange(SUMMARIZE_BRIEF_PATH, source.source(), fileName,
+                                contentTypeOf(source.contentType()))
+                                .flatMap(entity -> readBody(contentHash, SUMMARIZE_BRIEF_PATH, entity)))))
+                .map(body -> toEvent(index, fileName, body))
+                .timeout(fileTimeout)
+                .onErrorResume(TimeoutException.class, ex -> Mono.just(SummaryBatchEvent.file(index, fileName,
+                        "timeout", null, "No summary within " + fileTimeout.toSeconds() + "s")))
+                .onErrorResume(ex -> Mono.just(SummaryBatchEvent.file(index, fileName,
+                        "failed", null, String.valueOf(ex.getMessage()))));
+    }
+
+    private Mono<SummaryBatchEvent> mergeSummaries(List<String> summaries) {
+        if (summaries.isEmpty()) {
+            return Mono.just(SummaryBatchEvent.merged("failed", null,
+                    "No summaries could be generated from provided files."));
+        }
+        if (summaries.size() == 1) {
+            return Mono.just(SummaryBatchEvent.merged("ok", summaries.get(0), null));
+        }
+
+        return webClient.post()
+                .uri(MERGE_SUMMARIES_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("summaries", summaries))
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(this::toMergedEvent)
+                .timeout(mergeTimeout)
+                .onErrorResume(TimeoutException.class, ex -> Mono.just(SummaryBatchEvent.merged("timeout", null,
+                        "No merged summary within " + mergeTimeout.toSeconds() + "s")))
+                .onErrorResume(ex -> Mono.just(SummaryBatchEvent.merged("failed", null,
+                        String.valueOf(ex.getMessage()))));
+    }
+
+    private Mono<String> readBody(String contentHash, String path, ResponseEntity<Flux<DataBuffer>> entity) {
+        Mono<String> body = capture(contentHash, path, entity).collect(Collectors.joining());
+        if (!entity.getStatusCode().is2xxSuccessful()) {
+            return body.then(Mono.error(new IllegalStateException(
+                    "Summary service responded with " + entity.getStatusCode().value())));
+        }
+        return body;
+    }
+
+    private SummaryBatchEvent toEvent(int index, String fileName, String responseBody) {
+        try {
+            JsonNode node = objectMapper.readTree(responseBody);
+            if (hasSummary(node)) {
+                return SummaryBatchEvent.file(index, fileName, "ok", node.get("summary").asText(), null);
+            }
+            String error = node != null ? node.path("error").asText("No summary returned") : "No summary returned";
+            return SummaryBatchEvent.file(index, fileName, "failed", null, error);
+        } catch (JsonProcessingException ex) {
+            return SummaryBatchEvent.file(index, fileName, "failed", null, "Unreadable summary service response");
+        }
+    }
+
+    private SummaryBatchEvent toMergedEvent(String responseBody) {
+        try {
+            JsonNode node = objectMapper.readTree(responseBody);
+            if (hasSummary(node)) {
+                return SummaryBatchEvent.merged("ok", node.get("summary").asText(), null);
+            }
+            String error = node != null ? node.path("error").asText("Merge failed") : "Merge failed";
+            return SummaryBatchEvent.merged("failed", null, error);
+        } catch (JsonProcessingException ex) {
+            return SummaryBatchEvent.merged("failed", null, "Unreadable summary service response");
+        }
+    }
+
+    public String errorJson(Throwable ex) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("error", String.valueOf(ex.getMessage())));
+        } catch (JsonProcessingException e) {
+            return "{\"error\":\"Summary service unavailable\"}";
+        }
+    }
+
+    private Mono<String> lookup(String contentHash, String path) {
+        return Mono.fromCallable(() -> summaryResultCache.get(contentHash, path))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> exchange(String path, InputStreamSource source,
+                                                           String fileName, MediaType contentType) {
+        MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
+        bodyBuilder.asyncPart("file", readContent(source), DataBuffer.class)
+                .filename(fileName)
+                .contentType(contentType);
+
+        return webClient.post()
+                .uri(path)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
+                .retrieve()
+                // Relay upstream error statuses and bodies as-is instead of raising
+                .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class);
+    }
+
+    // Streams the body through while keeping a copy, and stores it once the response completes successfully
+    private Flux<String> capture(String contentHash, String path, ResponseEntity<Flux<DataBuffer>> entity) {
+        Flux<String> body = decodeUtf8(entity.getBody());
+        if (!entity.getStatusCode().is2xxSuccessful()) {
+            return body;
+        }
+        return Flux.defer(() -> {
+            StringBuilder copy = new StringBuilder();
+            return body.doOnNext(copy::append)
+                    .doOnComplete(() -> store(contentHash, path, copy.toString()));
+        });
+    }
+
+    private void store(String contentHash, String path, String responseBody) {
+        if (!isCacheable(responseBody)) {
+            return;
+        }
+        Mono.fromRunnable(() -> summaryResultCache.put(contentHash, path, responseBody))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(ex -> Mono.empty())
+                .subscribe();
+    }
+
+    // The summary service reports model failures as 200 responses carrying an "error" field
+    private boolean isCacheable(String responseBody) {
+        try {
+            JsonNode node = objectMapper.readTree(responseBody);
+            return hasSummary(node) && !node.has("error");
+        } catch (JsonProcessingException ex) {
+            return false;
+        }
+    }
+
+    // An empty or placeholder summary is a failed call, not a result to cache or merge
+    private boolean hasSummary(JsonNode node) {
+        if (node == null || !node.path("summary").isTextual()) {
+            return false;
+        }
+        String summary = node.get("summary").asText().strip();
+        return !summary.isEmpty() && !PLACEHOLDER_SUMMARIES.contains(summary);
+    }
+
+    // Reads the source lazily; the blocking reads run off the event loop
+    private Flux<DataBuffer> readContent(InputStreamSource source) {
+        return DataBufferUtils.readInputStream(source::getInputStream, DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private MediaType contentTypeOf(String contentType) {
+        if (contentType != null) {
+            try {
+                return MediaType.parseMediaType(contentType);
+            } catch (Exception ex) {
+                // Fall through to the generic type
+            }
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    // Decodes each upstream buffer as it arrives, carrying split multi-byte sequences over to the next one
+    private Flux<String> decodeUtf8(Flux<DataBuffer> body) {
+        if (body == null) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            ByteBuffer[] pending = {ByteBuffer.allocate(0)};
+
+            return body.map(dataBuffer -> {
+                byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                dataBuffer.read(bytes);
+                DataBufferUtils.release(dataBuffer);
+
+                ByteBuffer input = ByteBuffer.allocate(pending[0].remaining() + bytes.length);
+                input.put(pending[0]).put(bytes).flip();
+                CharBuffer output = CharBuffer.allocate(input.remaining());
+                decoder.decode(input, output, false);
+                pending[0] = input.slice();
+                return output.flip().toString();
+            }).filter(chunk -> !chunk.isEmpty());
+        });
+    }
+
+    public record SummarySource(InputStreamSource source, String fileName, String contentType) {
+
+        String fileNameOrDefault() {
+            return fileName != null ? fileName : "upload";
+        }
+    }
+}
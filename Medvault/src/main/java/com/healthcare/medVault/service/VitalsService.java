@@ -0,0 +1,20 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.CurrentHealthDataDTO;
+import com.healthcare.medVault.dto.VitalReadingDTO;
+import com.healthcare.medVault.dto.VitalSeriesDTO;
+import com.healthcare.medVault.helper.VitalMetric;
+import com.healthcare.medVault.helper.VitalResolution;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface VitalsService {
+
+    int recordReadings(String patientId, List<VitalReadingDTO> readings, String source);
+
+    void recordSnapshot(String patientId, CurrentHealthDataDTO currentHealth);
+
+    VitalSeriesDTO getSeries(String patientId, VitalMetric metric, LocalDateTime from, LocalDateTime to,
+                             VitalResolution resolution);
+}
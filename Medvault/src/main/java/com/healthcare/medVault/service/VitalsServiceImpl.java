@@ -0,0 +1,181 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.CurrentHealthDataDTO;
+import com.healthcare.medVault.dto.VitalReadingDTO;
+import com.healthcare.medVault.dto.VitalSeriesDTO;
+import com.healthcare.medVault.dto.VitalSeriesPointDTO;
+import com.healthcare.medVault.dto.VitalSignsDTO;
+import com.healthcare.medVault.exception.ValidationException;
+import com.healthcare.medVault.helper.VitalMetric;
+import com.healthcare.medVault.helper.VitalResolution;
+import com.healthcare.medVault.repository.VitalSeriesRepository;
+import com.healthcare.medVault.repository.VitalSeriesRepository.RollupDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class VitalsServiceImpl implements VitalsService {
+
+    private static final String SOURCE_HEALTH_RECORD = "HEALTH_RECORD";
+
+    private static final int MAX_READINGS_PER_BATCH = 5000;
+    private static final int MAX_POINTS = 5000;
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(30);
+    // Widest ranges served from raw readings and from hourly buckets when no resolution is asked for
+    private static final Duration MAX_RAW_RANGE = Duration.ofDays(2);
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(90);
+
+    private static final Comparator<RollupDelta> BUCKET_ORDER = Comparator
+            .comparing(RollupDelta::metric)
+            .thenComparing(RollupDelta::resolution)
+            .thenComparing(RollupDelta::bucketStart);
+
+    private final VitalSeriesRepository vitalSeriesRepository;
+
+    @Transactional
+    public int recordReadings(String patientId, List<VitalReadingDTO> readings, String source) {
+        if (readings == null || readings.isEmpty()) {
+            return 0;
+        }
+        if (readings.size() > MAX_READINGS_PER_BATCH) {
+            throw new ValidationException("At most " + MAX_READINGS_PER_BATCH + " readings can be uploaded at once");
+        }
+
+        // Same precision as recorded_at, so untimed readings from separate uploads keep distinct keys
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<VitalReadingDTO> valid = new ArrayList<>(readings.size());
+        for (VitalReadingDTO reading : readings) {
+            if (reading.getMetric() == null || reading.getValue() == null || !Double.isFinite(reading.getValue())) {
+                throw new ValidationException("Each reading needs a metric and a numeric value");
+            }
+            LocalDateTime recordedAt = reading.getRecordedAt() != null ? reading.getRecordedAt() : now;
+            valid.add(new VitalReadingDTO(reading.getMetric(), reading.getValue(),
+                    recordedAt.truncatedTo(ChronoUnit.MICROS)));
+        }
+
+        List<VitalReadingDTO> inserted = vitalSeriesRepository.insertReadings(patientId, valid, source);
+        vitalSeriesRepository.upsertRollups(rollups(patientId, inserted));
+        return inserted.size();
+    }
+
+    @Transactional
+    public void recordSnapshot(String patientId, CurrentHealthDataDTO currentHealth) {
+        if (currentHealth == null) {
+            return;
+        }
+
+        List<VitalReadingDTO> readings = new ArrayList<>();
+        LocalDateTime measuredAt = parseTimestamp(currentHealth.getLastUpdated());
+        addReading(readings, VitalMetric.WEIGHT, currentHealth.getWeight(), measuredAt);
+        addReading(readings, VitalMetric.BMI, currentHealth.getBmi(), measuredAt);
+
+        VitalSignsDTO vitals = currentHealth.getVitals();
+        if (vitals != null) {
+            LocalDateTime recordedAt = parseTimestamp(vitals.getRecordedAt());
+            addReading(readings, VitalMetric.BLOOD_PRESSURE_SYSTOLIC, vitals.getBloodPressureSystolic(), recordedAt);
+            addReading(readings, VitalMetric.BLOOD_PRESSURE_DIASTOLIC, vitals.getBloodPressureDiastolic(), recordedAt);
+            addReading(readings, VitalMetric.PULSE, vitals.getPulse(), recordedAt);
+            addReading(readings, VitalMetric.TEMPERATURE, vitals.getTemperature(), recordedAt);
+            addReading(readings, VitalMetric.RESPIRATORY_RATE, vitals.getRespiratoryRate(), recordedAt);
+            addReading(readings, VitalMetric.OXYGEN_SATURATION, vitals.getOxygenSaturation(), recordedAt);
+        }
+
+        // Every currentHealth write lands here, medication-only edits included. A value without a
+        // measurement time is only a new reading if it differs from the latest stored one; the
+        // timestamped ones are deduplicated on (metric, recordedAt) when inserted.
+        if (readings.stream().anyMatch(reading -> reading.getRecordedAt() == null)) {
+            Map<VitalMetric, Double> latest = vitalSeriesRepository.findLatestValues(patientId);
+            readings.removeIf(reading -> reading.getRecordedAt() == null
+                    && reading.getValue().equals(latest.get(reading.getMetric())));
+        }
+
+        recordReadings(patientId, readings, SOURCE_HEALTH_RECORD);
+    }
+
+    public VitalSeriesDTO getSeries(String patientId, VitalMetric metric, LocalDateTime from, LocalDateTime to,
+                                    VitalResolution resolution) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new ValidationException("'from' must be before 'to'");
+        }
+
+        VitalResolution effective = resolution != null ? resolution : autoResolution(Duration.between(start, end));
+        List<VitalSeriesPointDTO> points = effective == VitalResolution.RAW
+                ? vitalSeriesRepository.findReadings(patientId, metric, start, end, MAX_POINTS)
+                : vitalSeriesRepository.findRollups(patientId, metric, effective,
+                        bucketStart(start, effective), end, MAX_POINTS);
+        return new VitalSeriesDTO(patientId, metric, effective, points);
+    }
+
+    private VitalResolution autoResolution(Duration range) {
+        if (range.compareTo(MAX_RAW_RANGE) <= 0) {
+            return VitalResolution.RAW;
+        }
+        return range.compareTo(MAX_HOURLY_RANGE) <= 0 ? VitalResolution.HOUR : VitalResolution.DAY;
+    }
+
+    private List<RollupDelta> rollups(String patientId, List<VitalReadingDTO> readings) {
+        Map<RollupDelta, RollupDelta> buckets = new TreeMap<>(BUCKET_ORDER);
+        for (VitalReadingDTO reading : readings) {
+            for (VitalResolution resolution : List.of(VitalResolution.HOUR, VitalResolution.DAY)) {
+                double value = reading.getValue();
+                RollupDelta delta = new RollupDelta(patientId, reading.getMetric(), resolution,
+                        bucketStart(reading.getRecordedAt(), resolution), 1, value, value, value);
+                buckets.merge(delta, delta, (a, b) -> new RollupDelta(patientId, a.metric(), a.resolution(),
+                        a.bucketStart(), a.count() + b.count(), a.sum() + b.sum(),
+                        Math.min(a.min(), b.min()), Math.max(a.max(), b.max())));
+            }
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    private LocalDateTime bucketStart(LocalDateTime time, VitalResolution resolution) {
+        return switch (resolution) {
+            case RAW -> time;
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+        };
+    }
+
+    private void addReading(List<VitalReadingDTO> readings, VitalMetric metric, Number value, LocalDateTime recordedAt) {
+        if (value != null) {
+            readings.add(new VitalReadingDTO(metric, value.doubleValue(), recordedAt));
+        }
+    }
+
+    // The frontend sends ISO instants ("2025-01-31T10:15:00.000Z"); plain dates and local times also occur
+    private LocalDateTime parseTimestamp(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException ignored) {
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ignored) {
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
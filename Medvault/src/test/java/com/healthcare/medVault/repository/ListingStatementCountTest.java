@@ -0,0 +1,220 @@
+package com.healthcare.medVault.repository;
+
+import com.healthcare.medVault.entity.Appointment;
+import com.healthcare.medVault.entity.Doctor;
+import com.healthcare.medVault.entity.DocumentPermissionRequest;
+import com.healthcare.medVault.entity.HealthDocument;
+import com.healthcare.medVault.entity.Patient;
+import com.healthcare.medVault.entity.Review;
+import com.healthcare.medVault.entity.Slot;
+import com.healthcare.medVault.entity.User;
+import com.healthcare.medVault.helper.DocumentPermissionStatus;
+import com.healthcare.medVault.helper.DocumentType;
+import com.healthcare.medVault.helper.Gender;
+import com.healthcare.medVault.helper.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the listing queries against N+1 selects: each listing, including every association its
+ * converter reads, must load in a single statement however many rows it returns.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListingStatementCountTest {
+
+    private static final int ROWS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private DocumentPermissionRequestRepository permissionRepository;
+
+    private Patient patient;
+    private Doctor firstDoctor;
+    private Appointment firstAppointment;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        patient = entityManager.persist(patient());
+        for (int i = 0; i < ROWS; i++) {
+            Doctor doctor = entityManager.persist(doctor(i));
+            Appointment appointment = entityManager.persist(appointment(doctor, i));
+            entityManager.persist(review(appointment));
+            entityManager.persist(permission(appointment, entityManager.persist(document(i))));
+            if (i == 0) {
+                firstDoctor = doctor;
+                firstAppointment = appointment;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void appointmentListingsLoadInOneStatement() {
+        List<Appointment> byPatient = appointmentRepository.findByPatientId(patient.getId());
+        byPatient.forEach(this::readAppointment);
+        assertThat(byPatient).hasSize(ROWS);
+        assertStatements(1);
+
+        appointmentRepository.findByDoctorId(firstDoctor.getId()).forEach(this::readAppointment);
+        assertStatements(1);
+
+        List<Appointment> all = appointmentRepository.findAllWithDetails();
+        all.forEach(this::readAppointment);
+        assertThat(all).hasSize(ROWS);
+        assertStatements(1);
+    }
+
+    @Test
+    void reviewListingsLoadInOneStatement() {
+        List<Review> byPatient = reviewRepository.findByPatientId(patient.getId());
+        byPatient.forEach(this::readReview);
+        assertThat(byPatient).hasSize(ROWS);
+        assertStatements(1);
+
+        reviewRepository.findByDoctorId(firstDoctor.getId()).forEach(this::readReview);
+        assertStatements(1);
+    }
+
+    @Test
+    void permissionListingsLoadInOneStatement() {
+        List<DocumentPermissionRequest> byPatient = permissionRepository.findByPatientId(patient.getId());
+        byPatient.forEach(this::readPermission);
+        assertThat(byPatient).hasSize(ROWS);
+        assertStatements(1);
+
+        permissionRepository.findByAppointmentIdAndStatus(firstAppointment.getId(), DocumentPermissionStatus.APPROVED)
+                .forEach(this::readPermission);
+        assertStatements(1);
+    }
+
+    // The same associations the service converters read for each row
+    private void readAppointment(Appointment appointment) {
+        assertThat(appointment.getPatient().getFirstName()).isNotNull();
+        assertThat(appointment.getDoctor().getFirstName()).isNotNull();
+        assertThat(appointment.getAppointmentDateTime()).isNotNull();
+    }
+
+    private void readReview(Review review) {
+        assertThat(review.getAppointment().getAppointmentDateTime()).isNotNull();
+        assertThat(review.getPatient().getFirstName()).isNotNull();
+        assertThat(review.getDoctor().getFirstName()).isNotNull();
+    }
+
+    private void readPermission(DocumentPermissionRequest request) {
+        assertThat(request.getDoctor().getFirstName()).isNotNull();
+        assertThat(request.getAppointment().getId()).isNotNull();
+        assertThat(request.getPatient().getId()).isNotNull();
+        assertThat(request.getDocument().getId()).isNotNull();
+    }
+
+    private void assertStatements(long expected) {
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        statistics.clear();
+    }
+
+    private Patient patient() {
+        Patient patient = new Patient();
+        patient.setUser(entityManager.persist(user("patient@example.com", Role.PATIENT)));
+        patient.setFirstName("Asha");
+        patient.setLastName("Rao");
+        return patient;
+    }
+
+    private Doctor doctor(int i) {
+        Doctor doctor = new Doctor();
+        doctor.setUser(entityManager.persist(user("doctor" + i + "@example.com", Role.DOCTOR)));
+        doctor.setFirstName("Doctor");
+        doctor.setLastName(String.valueOf(i));
+        doctor.setGender(Gender.OTHER);
+        doctor.setDateOfBirth(LocalDate.of(1980, 1, 1));
+        doctor.setYearsOfExperience(10);
+        doctor.setMedicalCouncilRegistrationNumber("REG-" + i);
+        return doctor;
+    }
+
+    private Appointment appointment(Doctor doctor, int i) {
+        Slot slot = new Slot();
+        slot.setDoctor(doctor);
+        slot.setDate(LocalDate.of(2026, 1, 1).plusDays(i));
+        slot.setTimeFrom(LocalTime.of(10, 0));
+        slot.setTimeTo(LocalTime.of(10, 30));
+        slot.setIsAvailable(false);
+        slot.setDuration(30);
+
+        Appointment appointment = new Appointment();
+        appointment.setPatient(patient);
+        appointment.setDoctor(doctor);
+        appointment.setSlot(entityManager.persist(slot));
+        return appointment;
+    }
+
+    private Review review(Appointment appointment) {
+        Review review = new Review();
+        review.setAppointment(appointment);
+        review.setDoctor(appointment.getDoctor());
+        review.setPatient(patient);
+        review.setRating(5);
+        return review;
+    }
+
+    private HealthDocument document(int i) {
+        HealthDocument document = new HealthDocument();
+        document.setPatientId(patient.getId().toString());
+        document.setName("report-" + i + ".pdf");
+        document.setType(DocumentType.LAB_REPORT);
+        document.setUrl("/documents/" + i);
+        document.setFilePath("report-" + i + ".pdf");
+        return document;
+    }
+
+    private DocumentPermissionRequest permission(Appointment appointment, HealthDocument document) {
+        DocumentPermissionRequest request = new DocumentPermissionRequest();
+        request.setAppointment(appointment);
+        request.setDoctor(appointment.getDoctor());
+        request.setPatient(patient);
+        request.setDocument(document);
+        request.setDocumentName(document.getName());
+        request.setDocumentType(document.getType().name());
+        request.setStatus(DocumentPermissionStatus.APPROVED);
+        request.setRespondedAt(LocalDateTime.now());
+        request.setExpiresAt(LocalDateTime.now().plusDays(1));
+        return request;
+    }
+
+    private User user(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setRole(role);
+        return user;
+    }
+}
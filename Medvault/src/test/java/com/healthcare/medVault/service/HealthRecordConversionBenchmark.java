@@ -0,0 +1,214 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.healthcare.medVault.dto.AddressDTO;
+import com.healthcare.medVault.dto.BasicDemographicsDTO;
+import com.healthcare.medVault.dto.ConsentPreferencesDTO;
+import com.healthcare.medVault.dto.CurrentHealthDataDTO;
+import com.healthcare.medVault.dto.CurrentMedicationDTO;
+import com.healthcare.medVault.dto.HealthDocumentDTO;
+import com.healthcare.medVault.dto.IdentificationDetailsDTO;
+import com.healthcare.medVault.dto.LifestyleInformationDTO;
+import com.healthcare.medVault.dto.MedicalHistoryItemDTO;
+import com.healthcare.medVault.dto.PatientHealthRecordDTO;
+import com.healthcare.medVault.dto.VitalSignsDTO;
+import com.healthcare.medVault.entity.PatientHealthRecord;
+import com.healthcare.medVault.helper.ActivityLevel;
+import com.healthcare.medVault.helper.AlcoholHabit;
+import com.healthcare.medVault.helper.BloodGroup;
+import com.healthcare.medVault.helper.DietaryPreference;
+import com.healthcare.medVault.helper.DocumentType;
+import com.healthcare.medVault.helper.Gender;
+import com.healthcare.medVault.helper.MaritalStatus;
+import com.healthcare.medVault.helper.MedicalHistoryType;
+import com.healthcare.medVault.helper.SmokingHabit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of convertToDTO and convertToEntity on a fully populated health record (12 history
+ * items, 6 medications, 15 documents), with the plain Spring ObjectMapper and with Blackbird
+ * registered on it. Not run by the build; after {@code mvn test-compile}, run the main method with
+ * the test classpath:
+ * {@code java -cp target/test-classes:target/classes:<mvn dependency:build-classpath> com.healthcare.medVault.service.HealthRecordConversionBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HealthRecordConversionBenchmark {
+
+    @Param({"jackson", "blackbird"})
+    public String mapper;
+
+    private PatientHealthRecordServiceImpl service;
+    private PatientHealthRecordDTO dto;
+    private PatientHealthRecord entity;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (mapper.equals("blackbird")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        // The converters only touch the mapper and the section codec
+        service = new PatientHealthRecordServiceImpl(null, null, objectMapper,
+                new HealthRecordSectionCodec(objectMapper), null, null, null, null);
+
+        dto = record();
+        entity = service.convertToEntity(dto);
+        entity.setId(1L);
+        entity.setCreatedAt(LocalDateTime.now());
+        entity.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public PatientHealthRecordDTO convertToDTO() {
+        return service.convertToDTO(entity);
+    }
+
+    @Benchmark
+    public PatientHealthRecord convertToEntity() {
+        return service.convertToEntity(dto);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HealthRecordConversionBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static PatientHealthRecordDTO record() {
+        AddressDTO address = new AddressDTO();
+        address.setStreet("14 Lake View Road");
+        address.setCity("Pune");
+        address.setState("Maharashtra");
+        address.setPincode("411001");
+
+        BasicDemographicsDTO demographics = new BasicDemographicsDTO();
+        demographics.setFullName("Asha Rao");
+        demographics.setGender(Gender.FEMALE);
+        demographics.setDateOfBirth("1984-03-12");
+        demographics.setBloodGroup(BloodGroup.B_POSITIVE);
+        demographics.setContactNumber("+91 98200 12345");
+        demographics.setEmail("asha.rao@example.com");
+        demographics.setAddress(address);
+        demographics.setEmergencyContact("+91 98200 54321");
+        demographics.setMaritalStatus(MaritalStatus.MARRIED);
+        demographics.setOccupation("Architect");
+
+        IdentificationDetailsDTO identification = new IdentificationDetailsDTO();
+        identification.setPatientId("42");
+        identification.setNationalId("XXXX-XXXX-4821");
+        identification.setInsurancePolicyNumber("POL-2291-88");
+
+        List<MedicalHistoryItemDTO> history = new ArrayList<>();
+        MedicalHistoryType[] types = MedicalHistoryType.values();
+        for (int i = 0; i < 12; i++) {
+            MedicalHistoryItemDTO item = new MedicalHistoryItemDTO();
+            item.setId("mh-" + i);
+            item.setType(types[i % types.length]);
+            item.setTitle("Condition " + i);
+            item.setDescription("Diagnosed during a routine check-up; followed up every six months.");
+            item.setOnsetDate("2015-0" + (1 + i % 9) + "-15");
+            item.setSeverity(i % 3 == 0 ? "HIGH" : "MODERATE");
+            item.setIsActive(i % 2 == 0);
+            history.add(item);
+        }
+
+        LifestyleInformationDTO lifestyle = new LifestyleInformationDTO();
+        lifestyle.setSmokingHabit(SmokingHabit.NEVER);
+        lifestyle.setAlcoholHabit(AlcoholHabit.OCCASIONAL);
+        lifestyle.setDietaryPreferences(DietaryPreference.VEGETARIAN);
+        lifestyle.setPhysicalActivityLevel(ActivityLevel.ACTIVE);
+        lifestyle.setSleepHours(7);
+        lifestyle.setStressLevel("MODERATE");
+        lifestyle.setExerciseFrequency("4 times a week");
+        lifestyle.setSleepQuality("GOOD");
+
+        VitalSignsDTO vitals = new VitalSignsDTO();
+        vitals.setBloodPressureSystolic(124);
+        vitals.setBloodPressureDiastolic(82);
+        vitals.setPulse(72);
+        vitals.setTemperature(36.8);
+        vitals.setRespiratoryRate(16);
+        vitals.setOxygenSaturation(98.0);
+        vitals.setRecordedAt("2026-10-01T09:30:00Z");
+
+        List<CurrentMedicationDTO> medications = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            CurrentMedicationDTO medication = new CurrentMedicationDTO();
+            medication.setId("med-" + i);
+            medication.setName("Medication " + i);
+            medication.setDosage("500 mg");
+            medication.setFrequency("Twice daily after meals");
+            medication.setPrescribedBy("Dr. Mehta");
+            medication.setStartDate("2026-01-10");
+            medication.setEndDate("2026-12-31");
+            medication.setNotes("Take with water");
+            medication.setIsActive(true);
+            medications.add(medication);
+        }
+
+        CurrentHealthDataDTO currentHealth = new CurrentHealthDataDTO();
+        currentHealth.setWeight(64.5);
+        currentHealth.setHeight(162.0);
+        currentHealth.setBmi(24.6);
+        currentHealth.setVitals(vitals);
+        currentHealth.setMedications(medications);
+        currentHealth.setLastUpdated("2026-10-01T09:30:00Z");
+
+        List<HealthDocumentDTO> documents = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            HealthDocumentDTO document = new HealthDocumentDTO();
+            document.setId((long) i);
+            document.setPatientId("42");
+            document.setName("lab-report-" + i + ".pdf");
+            document.setType(DocumentType.LAB_REPORT);
+            document.setUrl("/api/health-documents/42/" + i);
+            document.setUploadDate(LocalDateTime.of(2026, 1, 1, 10, 0).plusDays(i));
+            document.setSize(245_000L + i);
+            document.setDescription("Quarterly blood panel");
+            documents.add(document);
+        }
+
+        ConsentPreferencesDTO consent = new ConsentPreferencesDTO();
+        consent.setDataSharingConsent(true);
+        consent.setSmsNotifications(true);
+        consent.setEmailNotifications(false);
+        consent.setPreferredLanguage("en");
+        consent.setEmergencyContactConsent(true);
+        consent.setResearchParticipation(false);
+
+        PatientHealthRecordDTO record = new PatientHealthRecordDTO();
+        record.setPatientId("42");
+        record.setBasicDemographics(demographics);
+        record.setIdentification(identification);
+        record.setMedicalHistory(history);
+        record.setLifestyle(lifestyle);
+        record.setCurrentHealth(currentHealth);
+        record.setDocuments(documents);
+        record.setConsentPreferences(consent);
+        return record;
+    }
+}
@@ -0,0 +1,186 @@
+package com.healthcare.medVault.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.medVault.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class JsonPatchesTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // RFC 6902 Appendix A, examples that apply cleanly
+    static Stream<Arguments> jsonPatchExamples() {
+        return Stream.of(
+                arguments("A.1 adding an object member",
+                        "{\"foo\":\"bar\"}",
+                        "[{\"op\":\"add\",\"path\":\"/baz\",\"value\":\"qux\"}]",
+                        "{\"baz\":\"qux\",\"foo\":\"bar\"}"),
+                arguments("A.2 adding an array element",
+                        "{\"foo\":[\"bar\",\"baz\"]}",
+                        "[{\"op\":\"add\",\"path\":\"/foo/1\",\"value\":\"qux\"}]",
+                        "{\"foo\":[\"bar\",\"qux\",\"baz\"]}"),
+                arguments("A.3 removing an object member",
+                        "{\"baz\":\"qux\",\"foo\":\"bar\"}",
+                        "[{\"op\":\"remove\",\"path\":\"/baz\"}]",
+                        "{\"foo\":\"bar\"}"),
+                arguments("A.4 removing an array element",
+                        "{\"foo\":[\"bar\",\"qux\",\"baz\"]}",
+                        "[{\"op\":\"remove\",\"path\":\"/foo/1\"}]",
+                        "{\"foo\":[\"bar\",\"baz\"]}"),
+                arguments("A.5 replacing a value",
+                        "{\"baz\":\"qux\",\"foo\":\"bar\"}",
+                        "[{\"op\":\"replace\",\"path\":\"/baz\",\"value\":\"boo\"}]",
+                        "{\"baz\":\"boo\",\"foo\":\"bar\"}"),
+                arguments("A.6 moving a value",
+                        "{\"foo\":{\"bar\":\"baz\",\"waldo\":\"fred\"},\"qux\":{\"corge\":\"grault\"}}",
+                        "[{\"op\":\"move\",\"from\":\"/foo/waldo\",\"path\":\"/qux/thud\"}]",
+                        "{\"foo\":{\"bar\":\"baz\"},\"qux\":{\"corge\":\"grault\",\"thud\":\"fred\"}}"),
+                arguments("A.7 moving an array element",
+                        "{\"foo\":[\"all\",\"grass\",\"cows\",\"eat\"]}",
+                        "[{\"op\":\"move\",\"from\":\"/foo/1\",\"path\":\"/foo/3\"}]",
+                        "{\"foo\":[\"all\",\"cows\",\"eat\",\"grass\"]}"),
+                arguments("A.8 testing a value: success",
+                        "{\"baz\":\"qux\",\"foo\":[\"a\",2,\"c\"]}",
+                        "[{\"op\":\"test\",\"path\":\"/baz\",\"value\":\"qux\"},{\"op\":\"test\",\"path\":\"/foo/1\",\"value\":2}]",
+                        "{\"baz\":\"qux\",\"foo\":[\"a\",2,\"c\"]}"),
+                arguments("A.10 adding a nested member object",
+                        "{\"foo\":\"bar\"}",
+                        "[{\"op\":\"add\",\"path\":\"/child\",\"value\":{\"grandchild\":{}}}]",
+                        "{\"foo\":\"bar\",\"child\":{\"grandchild\":{}}}"),
+                arguments("A.11 ignoring unrecognized elements",
+                        "{\"foo\":\"bar\"}",
+                        "[{\"op\":\"add\",\"path\":\"/baz\",\"value\":\"qux\",\"xyz\":123}]",
+                        "{\"foo\":\"bar\",\"baz\":\"qux\"}"),
+                arguments("A.14 ~ escape ordering",
+                        "{\"/\":9,\"~1\":10}",
+                        "[{\"op\":\"test\",\"path\":\"/~01\",\"value\":10}]",
+                        "{\"/\":9,\"~1\":10}"),
+                arguments("A.16 adding an array value",
+                        "{\"foo\":[\"bar\"]}",
+                        "[{\"op\":\"add\",\"path\":\"/foo/-\",\"value\":[\"abc\",\"def\"]}]",
+                        "{\"foo\":[\"bar\",[\"abc\",\"def\"]]}"));
+    }
+
+    // RFC 6902 Appendix A, examples that must be rejected
+    static Stream<Arguments> failingJsonPatchExamples() {
+        return Stream.of(
+                arguments("A.9 testing a value: error",
+                        "{\"baz\":\"qux\"}",
+                        "[{\"op\":\"test\",\"path\":\"/baz\",\"value\":\"bar\"}]"),
+                arguments("A.12 adding to a nonexistent target",
+                        "{\"foo\":\"bar\"}",
+                        "[{\"op\":\"add\",\"path\":\"/baz/bat\",\"value\":\"qux\"}]"),
+                arguments("A.15 comparing strings and numbers",
+                        "{\"/\":9,\"~1\":10}",
+                        "[{\"op\":\"test\",\"path\":\"/~01\",\"value\":\"10\"}]"));
+    }
+
+    // RFC 7396 Appendix A
+    static Stream<Arguments> mergePatchExamples() {
+        return Stream.of(
+                arguments("{\"a\":\"b\"}", "{\"a\":\"c\"}", "{\"a\":\"c\"}"),
+                arguments("{\"a\":\"b\"}", "{\"b\":\"c\"}", "{\"a\":\"b\",\"b\":\"c\"}"),
+                arguments("{\"a\":\"b\"}", "{\"a\":null}", "{}"),
+                arguments("{\"a\":\"b\",\"b\":\"c\"}", "{\"a\":null}", "{\"b\":\"c\"}"),
+                arguments("{\"a\":[\"b\"]}", "{\"a\":\"c\"}", "{\"a\":\"c\"}"),
+                arguments("{\"a\":\"c\"}", "{\"a\":[\"b\"]}", "{\"a\":[\"b\"]}"),
+                arguments("{\"a\":{\"b\":\"c\"}}", "{\"a\":{\"b\":\"d\",\"c\":null}}", "{\"a\":{\"b\":\"d\"}}"),
+                arguments("{\"a\":[{\"b\":\"c\"}]}", "{\"a\":[1]}", "{\"a\":[1]}"),
+                arguments("[\"a\",\"b\"]", "[\"c\",\"d\"]", "[\"c\",\"d\"]"),
+                arguments("{\"a\":\"b\"}", "[\"c\"]", "[\"c\"]"),
+                arguments("{\"a\":\"foo\"}", "null", "null"),
+                arguments("{\"a\":\"foo\"}", "\"bar\"", "\"bar\""),
+                arguments("{\"e\":null}", "{\"a\":1}", "{\"e\":null,\"a\":1}"),
+                arguments("[1,2]", "{\"a\":\"b\",\"c\":null}", "{\"a\":\"b\"}"),
+                arguments("{}", "{\"a\":{\"bb\":{\"ccc\":null}}}", "{\"a\":{\"bb\":{}}}"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("jsonPatchExamples")
+    void appliesRfc6902Examples(String example, String target, String patch, String expected) {
+        assertThat(JsonPatches.applyJsonPatch(json(target), json(patch))).isEqualTo(json(expected));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("failingJsonPatchExamples")
+    void rejectsRfc6902ErrorExamples(String example, String target, String patch) {
+        assertThatThrownBy(() -> JsonPatches.applyJsonPatch(json(target), json(patch)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @ParameterizedTest(name = "{0} + {1}")
+    @MethodSource("mergePatchExamples")
+    void appliesRfc7396Examples(String target, String patch, String expected) {
+        assertThat(JsonPatches.applyMergePatch(json(target), json(patch))).isEqualTo(json(expected));
+    }
+
+    @Test
+    void appliesTheRfc7396SectionThreeExample() {
+        JsonNode target = json("""
+                {"title": "Goodbye!",
+                 "author": {"givenName": "John", "familyName": "Doe"},
+                 "tags": ["example", "sample"],
+                 "content": "This will be unchanged"}
+                """);
+        JsonNode patch = json("""
+                {"title": "Hello!",
+                 "phoneNumber": "+01-123-456-7890",
+                 "author": {"familyName": null},
+                 "tags": ["example"]}
+                """);
+
+        assertThat(JsonPatches.applyMergePatch(target, patch)).isEqualTo(json("""
+                {"title": "Hello!",
+                 "author": {"givenName": "John"},
+                 "tags": ["example"],
+                 "content": "This will be unchanged",
+                 "phoneNumber": "+01-123-456-7890"}
+                """));
+    }
+
+    @Test
+    void testComparesNumbersByValue() {
+        JsonNode target = json("{\"dose\":1,\"readings\":[{\"value\":36.50}]}");
+
+        JsonPatches.applyJsonPatch(target, json("[{\"op\":\"test\",\"path\":\"/dose\",\"value\":1.0}]"));
+        JsonPatches.applyJsonPatch(target, json("[{\"op\":\"test\",\"path\":\"/readings\",\"value\":[{\"value\":36.5}]}]"));
+        assertThatThrownBy(() -> JsonPatches.applyJsonPatch(target, json("[{\"op\":\"test\",\"path\":\"/dose\",\"value\":1.5}]")))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void failedPatchLeavesTheTargetUntouched() {
+        JsonNode target = json("{\"foo\":\"bar\"}");
+
+        assertThatThrownBy(() -> JsonPatches.applyJsonPatch(target, json(
+                "[{\"op\":\"add\",\"path\":\"/baz\",\"value\":1},{\"op\":\"remove\",\"path\":\"/missing\"}]")))
+                .isInstanceOf(ValidationException.class);
+        assertThat(target).isEqualTo(json("{\"foo\":\"bar\"}"));
+    }
+
+    @Test
+    void rejectsMovingAValueIntoItsOwnChild() {
+        assertThatThrownBy(() -> JsonPatches.applyJsonPatch(json("{\"a\":{\"b\":1}}"),
+                json("[{\"op\":\"move\",\"from\":\"/a\",\"path\":\"/a/b/c\"}]")))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private static JsonNode json(String text) {
+        try {
+            return MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.healthcare.medVault.service;
+
+import com.healthcare.medVault.dto.PrescriptionItemDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MedicationExtractionParserTest {
+
+    private final MedicationExtractionParser parser = new MedicationExtractionParser();
+
+    @Test
+    void emptyResponsesYieldNoItems() {
+        assertThat(parser.parse(null)).isEmpty();
+        assertThat(parser.parse("")).isEmpty();
+        assertThat(parser.parse("  \n\n ")).isEmpty();
+        assertThat(parser.parse("No medicines were found in this document.")).isEmpty();
+    }
+
+    @Test
+    void parsesThePromptFormat() {
+        List<PrescriptionItemDTO> items = parser.parse("""
+                * Medicine Name: Paracetamol
+                  Dosage: 500 mg
+                  Frequency: Twice daily
+                  Route of Administration: Oral
+                  Duration: 5 days
+                * Medicine Name: Amoxicillin
+                  Dosage: 250 mg
+                  Frequency: Three times a day
+                  Route of Administration: Oral
+                  Duration: 7 days
+                """);
+
+        assertThat(items).hasSize(2);
+        PrescriptionItemDTO first = items.get(0);
+        assertThat(first.getMedicationName()).isEqualTo("Paracetamol");
+        assertThat(first.getDose()).isEqualTo("500 mg");
+        assertThat(first.getFrequency()).isEqualTo("Twice daily");
+        assertThat(first.getInstructions()).isEqualTo("Route: Oral");
+        assertThat(first.getDuration()).isEqualTo("5 days");
+        assertThat(items.get(1).getMedicationName()).isEqualTo("Amoxicillin");
+        assertThat(items.get(1).getDuration()).isEqualTo("7 days");
+    }
+
+    @Test
+    void toleratesBoldMarkersBlankLinesAndFieldOrder() {
+        List<PrescriptionItemDTO> items = parser.parse("""
+                **Medicine Name:** Ibuprofen
+
+                - **Duration:** 3 days
+                - __Frequency__: As needed
+                - **Dosage**: 400 mg
+                """);
+
+        assertThat(items).singleElement().satisfies(item -> {
+            assertThat(item.getMedicationName()).isEqualTo("Ibuprofen");
+            assertThat(item.getDose()).isEqualTo("400 mg");
+            assertThat(item.getFrequency()).isEqualTo("As needed");
+            assertThat(item.getDuration()).isEqualTo("3 days");
+        });
+    }
+
+    @Test
+    void acceptsNumberedListsAndWindowsLineEndings() {
+        List<PrescriptionItemDTO> items = parser.parse(
+                "1. Medicine Name: Metformin\r\n   Dosage: 500 mg\r\n2) Medicine Name: Atorvastatin\r\n   Dosage: 10 mg\r\n");
+
+        assertThat(items).extracting(PrescriptionItemDTO::getMedicationName).containsExactly("Metformin", "Atorvastatin");
+        assertThat(items).extracting(PrescriptionItemDTO::getDose).containsExactly("500 mg", "10 mg");
+    }
+
+    @Test
+    void keepsColonsInsideValues() {
+        List<PrescriptionItemDTO> items = parser.parse("""
+                * Medicine Name: Insulin glargine
+                  Frequency: Once daily at 22:00
+                """);
+
+        assertThat(items.get(0).getFrequency()).isEqualTo("Once daily at 22:00");
+    }
+
+    @Test
+    void turnsPlaceholdersIntoNull() {
+        List<PrescriptionItemDTO> items = parser.parse("""
+                * Medicine Name: Cetirizine
+                  Dosage: N/A
+                  Frequency: na
+                  Route of Administration: -
+                  Duration:
+                """);
+
+        assertThat(items).singleElement().satisfies(item -> {
+            assertThat(item.getDose()).isNull();
+            assertThat(item.getFrequency()).isNull();
+            assertThat(item.getInstructions()).isNull();
+            assertThat(item.getDuration()).isNull();
+        });
+    }
+
+    @Test
+    void dropsItemsWithoutAName() {
+        List<PrescriptionItemDTO> items = parser.parse("""
+                * Medicine Name: N/A
+                  Dosage: 5 mg
+                * Medicine Name: Pantoprazole
+                """);
+
+        assertThat(items).extracting(PrescriptionItemDTO::getMedicationName).containsExactly("Pantoprazole");
+    }
+
+    @Test
+    void ignoresFieldsBeforeTheFirstMedicineAndSurroundingProse() {
+        List<PrescriptionItemDTO> items = parser.parse("""
+                Here are the medicines I found:
+                Patient Name: Asha Rao
+                Dosage: 1 tablet
+                ```
+                * Medicine Name: Azithromycin
+                  Dosage: 500 mg
+                  Notes: take before food
+                ```
+                Let me know if you need anything else.
+                """);
+
+        assertThat(items).singleElement().satisfies(item -> {
+            assertThat(item.getMedicationName()).isEqualTo("Azithromycin");
+            assertThat(item.getDose()).isEqualTo("500 mg");
+            assertThat(item.getInstructions()).isNull();
+        });
+    }
+
+    @Test
+    void acceptsAlternativeFieldNames() {
+        List<PrescriptionItemDTO> items = parser.parse("""
+                Medication Name: Losartan
+                Dose: 50 mg
+                Route: Oral
+                Medicine: Amlodipine
+                """);
+
+        assertThat(items).extracting(PrescriptionItemDTO::getMedicationName).containsExactly("Losartan", "Amlodipine");
+        assertThat(items.get(0).getDose()).isEqualTo("50 mg");
+        assertThat(items.get(0).getInstructions()).isEqualTo("Route: Oral");
+    }
+}
@@ -0,0 +1,96 @@
+"""
+Latency benchmark for the specialization model.
+
+In-process (measures the scoring path itself, no HTTP):
+    python benchmark.py
+
+Against a running service (e.g. uvicorn main:app --port 8002):
+    python benchmark.py --url http://127.0.0.1:8002
+"""
+import argparse
+import json
+import statistics
+import time
+import urllib.request
+
+SAMPLE_TEXTS = [
+    "I have had chest pain and shortness of breath since this morning",
+    "Severe headache with blurred vision and nausea",
+    "Itchy red rash on both arms that keeps spreading",
+    "Persistent cough with fever and chills for three days",
+    "Lower back pain radiating down my left leg",
+    "Stomach cramps, diarrhea and vomiting after eating",
+    "Frequent urination and constant thirst",
+    "Swollen painful knee after a fall",
+]
+
+
+def percentile(samples, pct):
+    ordered = sorted(samples)
+    index = min(len(ordered) - 1, int(round(pct / 100 * (len(ordered) - 1))))
+    return ordered[index]
+
+
+def report(name, samples_ms, items_per_call=1):
+    total_s = sum(samples_ms) / 1000
+    print(
+        f"{name:<28} calls={len(samples_ms):<5} "
+        f"p50={percentile(samples_ms, 50):7.2f}ms "
+        f"p95={percentile(samples_ms, 95):7.2f}ms "
+        f"p99={percentile(samples_ms, 99):7.2f}ms "
+        f"mean={statistics.mean(samples_ms):7.2f}ms "
+        f"throughput={len(samples_ms) * items_per_call / total_s:8.1f}/s"
+    )
+
+
+def time_calls(fn, iterations, warmup):
+    for _ in range(warmup):
+        fn()
+    samples = []
+    for _ in range(iterations):
+        start = time.perf_counter()
+        fn()
+        samples.append((time.perf_counter() - start) * 1000)
+    return samples
+
+
+def post_json(url, payload):
+    request = urllib.request.Request(
+        url, data=json.dumps(payload).encode("utf-8"), headers={"Content-Type": "application/json"}
+    )
+    with urllib.request.urlopen(request) as response:
+        return json.loads(response.read())
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--url", help="base URL of a running model service; omit to benchmark in-process")
+    parser.add_argument("--iterations", type=int, default=200)
+    parser.add_argument("--warmup", type=int, default=20)
+    parser.add_argument("--batch-size", type=int, default=32)
+    args = parser.parse_args()
+
+    batch = [SAMPLE_TEXTS[i % len(SAMPLE_TEXTS)] for i in range(args.batch_size)]
+    counter = {"i": 0}
+
+    def next_text():
+        counter["i"] += 1
+        return SAMPLE_TEXTS[counter["i"] % len(SAMPLE_TEXTS)]
+
+    if args.url:
+        base = args.url.rstrip("/")
+        single = lambda: post_json(f"{base}/predict", {"text": next_text()})
+        batched = lambda: post_json(f"{base}/predict_batch", {"items": [{"text": t} for t in batch]})
+    else:
+        import main as service
+
+        single = lambda: service.predict_from_text(next_text())
+        batched = lambda: service.predict_batch_from_text(batch, [0.45] * len(batch))
+
+    report("single /predict", time_calls(single, args.iterations, args.warmup))
+    report(f"batch of {args.batch_size} /predict_batch",
+           time_calls(batched, max(1, args.iterations // 4), max(1, args.warmup // 4)), args.batch_size)
+
+
+if __name__ == "__main__":
+    main()
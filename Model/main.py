@@ -1,9 +1,11 @@
 import pickle
-import pandas as pd
+import warnings
+
+import numpy as np
 import torch
 from fastapi import FastAPI
 from pydantic import BaseModel
-from sentence_transformers import util, SentenceTransformer
+from sentence_transformers import SentenceTransformer
 from sklearn.linear_model import LogisticRegression
 
 # ----------------------------
@@ -21,6 +23,25 @@ embed_model = SentenceTransformer("all-MiniLM-L6-v2", device=str(device))
 
 model = pipeline["classifier_model"]
 
+# Symptom embeddings are L2-normalized once here, so cosine similarity per request is a single
+# matrix product against the (also normalized) text embeddings.
+if isinstance(symptom_embeddings, torch.Tensor):
+    symptom_matrix = symptom_embeddings.detach().cpu().numpy()
+else:
+    symptom_matrix = np.asarray(symptom_embeddings)
+symptom_matrix = symptom_matrix.astype(np.float32)
+symptom_matrix /= np.clip(np.linalg.norm(symptom_matrix, axis=1, keepdims=True), 1e-12, None)
+symptom_matrix_t = np.ascontiguousarray(symptom_matrix.T)
+
+# The classifier was fitted on a DataFrame; feed it plain arrays in its own column order
+feature_names = list(getattr(model, "feature_names_in_", symptom_columns))
+if feature_names == list(symptom_columns):
+    feature_order = None
+else:
+    column_index = {name: i for i, name in enumerate(symptom_columns)}
+    feature_order = np.array([column_index[name] for name in feature_names])
+warnings.filterwarnings("ignore", message="X does not have valid feature names")
+
 app = FastAPI(title="MedVault Doctor Text Classifier API")
 
 # ----------------------------
@@ -31,34 +52,42 @@ class TextRequest(BaseModel):
     threshold: float = 0.45  # optional override
 
 
+class BatchTextRequest(BaseModel):
+    items: list[TextRequest]
+
+
 # ----------------------------
 # Core functions
 # ----------------------------
-def text_to_symptom_vector(text, threshold=0.45):
-    # Always encode on CPU
-    text_embedding = embed_model.encode(text, convert_to_tensor=True, device=str(device))
-    text_embedding = text_embedding.to(device)
+def texts_to_symptom_matrix(texts, thresholds):
+    """Binary symptom features, one row per text, thresholded against per-text limits."""
+    text_embeddings = embed_model.encode(
+        texts,
+        batch_size=len(texts),
+        convert_to_numpy=True,
+        normalize_embeddings=True,
+        device=str(device),
+    ).astype(np.float32, copy=False)
+
+    similarities = text_embeddings @ symptom_matrix_t
+    limits = np.asarray(thresholds, dtype=np.float32).reshape(-1, 1)
+    features = (similarities > limits).astype(np.int8)
+    return features if feature_order is None else features[:, feature_order]
 
-    # Ensure embeddings are tensors on CPU
-    if not isinstance(symptom_embeddings, torch.Tensor):
-        symptom_tensors = torch.tensor(symptom_embeddings, device=device)
-    else:
-        symptom_tensors = symptom_embeddings.to(device)
 
-    similarities = util.cos_sim(text_embedding, symptom_tensors)[0]
+def text_to_symptom_vector(text, threshold=0.45):
+    return texts_to_symptom_matrix([text], [threshold])
+
 
-    # Convert similarities to binary symptom vector
-    symptom_vector = pd.DataFrame([[0] * len(symptom_columns)], columns=symptom_columns)
-    for i, sim in enumerate(similarities):
-        if sim > threshold:
-            symptom_vector.iloc[0, i] = 1
-    return symptom_vector
+def predict_batch_from_text(texts, thresholds):
+    # One encoder pass and one classifier call for the whole batch
+    with torch.inference_mode():
+        features = texts_to_symptom_matrix(texts, thresholds)
+    return model.predict(features).tolist()
 
 
 def predict_from_text(patient_text, threshold=0.45):
-    input_vector = text_to_symptom_vector(patient_text, threshold)
-    prediction = model.predict(input_vector)
-    return prediction[0]
+    return predict_batch_from_text([patient_text], [threshold])[0]
 
 
 # ----------------------------
@@ -75,6 +104,17 @@ def predict(req: TextRequest):
     return {"prediction": result}
 
 
+@app.post("/predict_batch")
+def predict_batch(req: BatchTextRequest):
+    """Predictions for several texts at once, in request order. Medvault coalesces concurrent
+    /api/inference/predict calls into this route."""
+    if not req.items:
+        return {"predictions": []}
+    texts = [item.text for item in req.items]
+    thresholds = [item.threshold for item in req.items]
+    return {"predictions": predict_batch_from_text(texts, thresholds)}
+
+
 # ----------------------------
 # Run locally:
 # ----------------------------
@@ -143,12 +143,12 @@ export const PatientHealthRecord: React.FC = () => {
 
     try {
       setSavingSection(section);
-      const updatedRecord = await healthRecordAPI.updateHealthRecordSection(
+      const updatedSection = await healthRecordAPI.updateHealthRecordSection(
         patientProfile.id,
         section,
         data
       );
-      setHealthRecord(updatedRecord);
+      setHealthRecord(prev => prev && { ...prev, [section]: updatedSection });
       setEditingSections(prev => {
         const newSet = new Set(prev);
         newSet.delete(section);
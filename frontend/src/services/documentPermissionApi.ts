@@ -27,6 +27,20 @@ export const documentPermissionAPI = {
     return response.data;
   },
 
+  // Doctor requests permission for several documents of an appointment at once
+  requestDocumentPermissions: async (
+    appointmentId: string,
+    documentIds: string[],
+    requestMessage?: string
+  ): Promise<DocumentPermissionRequest[]> => {
+    const response = await api.post("/document-permissions/request/batch", {
+      appointmentId,
+      documentIds,
+      requestMessage,
+    });
+    return response.data;
+  },
+
   // Get patient's medical record with permission status for an appointment
   getPatientMedicalRecord: async (
     appointmentId: string
@@ -49,6 +63,29 @@ export const documentPermissionAPI = {
     return apiResponse.data;
   },
 
+  // Patient responds to the pending requests for several documents of an appointment
+  respondToPermissionRequests: async (
+    appointmentId: string,
+    documentIds: string[],
+    response: DocumentPermissionResponse["response"]
+  ): Promise<DocumentPermissionRequest[]> => {
+    const apiResponse = await api.post(
+      `/document-permissions/appointment/${appointmentId}/respond`,
+      { documentIds, response }
+    );
+    return apiResponse.data;
+  },
+
+  // Patient approves every pending request for an appointment
+  approveAllPendingRequests: async (
+    appointmentId: string
+  ): Promise<DocumentPermissionRequest[]> => {
+    const apiResponse = await api.post(
+      `/document-permissions/appointment/${appointmentId}/approve-all`
+    );
+    return apiResponse.data;
+  },
+
   // Get all pending permission requests for a patient
   getPatientPermissionRequests: async (
     patientId: string
@@ -87,6 +124,18 @@ export const documentPermissionAPI = {
     return response.data;
   },
 
+  // Check doctor's access to several documents of an appointment in one call
+  checkDocumentAccessBatch: async (
+    appointmentId: string,
+    documentIds: string[]
+  ): Promise<DoctorDocumentAccess[]> => {
+    const response = await api.post(
+      `/document-permissions/check-access/${appointmentId}`,
+      documentIds
+    );
+    return response.data;
+  },
+
   async getDocumentFile(documentId: string) {
     const response = await api.get(`/document-permissions/documents/${documentId}`, {
       responseType: 'blob', // important for binary data
@@ -18,8 +18,8 @@ export const healthRecordAPI = {
     return response.data;
   },
 
-  // Update specific section of health record
-  updateHealthRecordSection: async (patientId: string, section: HealthRecordSection, data): Promise<PatientHealthRecord> => {
+  // Update specific section of health record; responds with the stored section only
+  updateHealthRecordSection: async <S extends HealthRecordSection>(patientId: string, section: S, data): Promise<PatientHealthRecord[S]> => {
     const response = await api.patch(`/health-records/${patientId}/section/${section}`, data);
     return response.data;
   },
@@ -24,5 +24,23 @@ export const prescriptionAPI = {
   getByDoctor: async (doctorId: string) => {
     const response = await api.get(`/prescriptions/doctor/${doctorId}`);
     return response.data;
+  },
+
+  // Drafts extracted from uploaded prescriptions, not yet confirmed by a doctor
+  getDraftsByPatient: async (patientId: string) => {
+    const response = await api.get(`/prescriptions/patient/${patientId}/drafts`);
+    return response.data;
+  },
+
+  // doctorId and appointmentId are required when the draft was extracted without them
+  confirmDraft: async (
+    prescriptionId: string,
+    doctorId?: string,
+    appointmentId?: string
+  ): Promise<PrescriptionResponseDTO> => {
+    const response = await api.patch(`/prescriptions/${prescriptionId}/confirm`, null, {
+      params: { doctorId, appointmentId },
+    });
+    return response.data;
   }
 };
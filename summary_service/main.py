@@ -3,9 +3,11 @@ from fastapi.staticfiles import StaticFiles
 import google.generativeai as genai
 from dotenv import load_dotenv
 import os
+import asyncio
 import logging
 import json
 from fastapi.middleware.cors import CORSMiddleware
+from pydantic import BaseModel
 
 
 # 🧾 Setup logging
@@ -39,6 +41,9 @@ genai.configure(api_key=api_key)
 
 model = genai.GenerativeModel("gemini-2.0-flash")
 
+# Reported as an "error" field so Medvault neither caches nor merges an empty result
+NO_SUMMARY = "No summary returned."
+
 # =============================
 # 🧾 NEW: Prescription Extractor
 # =============================
@@ -79,10 +84,14 @@ async def extract_medicines(file: UploadFile = File(...)):
                 {"mime_type": file.content_type, "data": content}
             ])
 
-            summary = getattr(response, "text", "⚠️ No medicine data found.")
             logging.info("✅ Received structured medicine data from Gemini.")
             logging.info(json.dumps(response.to_dict(), indent=2, ensure_ascii=False))
 
+            summary = extract_text(response)
+            if not summary:
+                logging.warning("⚠️ Gemini returned no medicine data.")
+                return {"error": "No medicine data returned."}
+
             return {"summary": summary, "raw": response.to_dict()}
 
         else:
@@ -125,7 +134,10 @@ async def summarize_patient_file(file: UploadFile = File(...)):
             logging.info("🧩 Full response object:")
             logging.info(json.dumps(response.to_dict(), indent=2, ensure_ascii=False))  # 👀 Print full details
 
-            summary = getattr(response, "text", "⚠️ No summary returned.")
+            summary = extract_text(response)
+            if not summary:
+                logging.warning("⚠️ Gemini returned no summary.")
+                return {"error": NO_SUMMARY}
             logging.info(f"📝 Summary: {summary}")
 
             return {
@@ -158,7 +170,10 @@ async def summarize_patient_file(file: UploadFile = File(...)):
             logging.info("🧩 Full response object:")
             logging.info(json.dumps(response.to_dict(), indent=2, ensure_ascii=False))
 
-            summary = getattr(response, "text", "⚠️ No summary returned.")
+            summary = extract_text(response)
+            if not summary:
+                logging.warning("⚠️ Gemini returned no summary.")
+                return {"error": NO_SUMMARY}
             logging.info(f"📝 Summary: {summary}")
 
             return {
@@ -173,12 +188,81 @@ async def summarize_patient_file(file: UploadFile = File(...)):
 
 
 def extract_text(response):
-    if hasattr(response, "text") and response.text:
-        return response.text
+    """Text of the first candidate, or None when the model returned nothing usable."""
+    try:
+        if response.text and response.text.strip():
+            return response.text
+    except Exception:
+        # .text raises when the response was blocked or has no parts
+        pass
     try:
-        return response.candidates[0].content.parts[0].text
+        text = response.candidates[0].content.parts[0].text
+        return text if text and text.strip() else None
     except Exception:
-        return "⚠️ No summary returned."
+        return None
+
+def summarize_brief(filename, content_type, content):
+    """Key-point summary of a single file, used by the batch endpoints."""
+    if content_type and content_type.startswith("image/"):
+        logging.info(f"🖼️ File {filename} detected as image.")
+        prompt = (
+            "Extract only key points (diagnosis, prescription, test results, or advice) "
+            "from this medical image without detailed formatting."
+        )
+
+        response = model.generate_content(
+            [prompt, {"mime_type": content_type, "data": content}]
+        )
+        logging.info(f"✅ Received Gemini response for image {filename}.")
+        logging.debug(json.dumps(response.to_dict(), indent=2, ensure_ascii=False))
+
+        summary = extract_text(response)
+        if not summary:
+            raise ValueError(f"No summary returned for {filename}.")
+        logging.info(f"📝 Image summary: {summary[:150]}...")
+
+    else:
+        logging.info(f"📄 File {filename} detected as text/document.")
+        text = content.decode("utf-8", errors="ignore")
+        if not text.strip():
+            logging.warning(f"⚠️ File {filename} has no readable text content.")
+
+        prompt = (
+            "Summarize this medical document briefly, only mentioning "
+            "important medical details in one paragraph:\n"
+            f"{text}"
+        )
+
+        response = model.generate_content(prompt)
+        logging.info(f"✅ Received Gemini response for text {filename}.")
+        logging.debug(json.dumps(response.to_dict(), indent=2, ensure_ascii=False))
+
+        summary = extract_text(response)
+        if not summary:
+            raise ValueError(f"No summary returned for {filename}.")
+        logging.info(f"📝 Text summary: {summary[:150]}...")
+
+    return summary.strip()
+
+
+def merge_summaries(summaries):
+    logging.info(f"🧠 Combining {len(summaries)} individual summaries...")
+    combined_prompt = (
+        "You are a concise medical assistant. Merge the following short summaries "
+        "into a single coherent paragraph (no lists, no repetition, under 100 words):\n\n"
+        + "\n".join(summaries)
+    )
+
+    combined_response = model.generate_content(combined_prompt)
+    logging.info("✅ Received combined Gemini summary.")
+    logging.debug(json.dumps(combined_response.to_dict(), indent=2, ensure_ascii=False))
+
+    combined_summary = extract_text(combined_response)
+    if not combined_summary:
+        raise ValueError("No merged summary returned.")
+    logging.info(f"🧾 Final combined summary: {combined_summary}")
+    return combined_summary
+
 
 # =============================
 # 🗂️ Multiple File Summarizer
@@ -201,43 +285,7 @@ async def summarize_all_files(files: list[UploadFile] = File(...)):
                 continue
 
             try:
-                if file.content_type and file.content_type.startswith("image/"):
-                    logging.info(f"🖼️ File {file.filename} detected as image.")
-                    prompt = (
-                        "Extract only key points (diagnosis, prescription, test results, or advice) "
-                        "from this medical image without detailed formatting."
-                    )
-
-                    response = model.generate_content(
-                        [prompt, {"mime_type": file.content_type, "data": content}]
-                    )
-                    logging.info(f"✅ Received Gemini response for image {file.filename}.")
-                    logging.debug(json.dumps(response.to_dict(), indent=2, ensure_ascii=False))
-
-                    summary = extract_text(response)
-                    logging.info(f"📝 Image summary: {summary[:150]}...")
-
-                else:
-                    logging.info(f"📄 File {file.filename} detected as text/document.")
-                    text = content.decode("utf-8", errors="ignore")
-                    if not text.strip():
-                        logging.warning(f"⚠️ File {file.filename} has no readable text content.")
-
-                    prompt = (
-                        "Summarize this medical document briefly, only mentioning "
-                        "important medical details in one paragraph:\n"
-                        f"{text}"
-                    )
-
-                    response = model.generate_content(prompt)
-                    logging.info(f"✅ Received Gemini response for text {file.filename}.")
-                    logging.debug(json.dumps(response.to_dict(), indent=2, ensure_ascii=False))
-
-                    summary = extract_text(response)
-                    logging.info(f"📝 Text summary: {summary[:150]}...")
-
-                summaries.append(summary.strip())
-
+                summaries.append(await asyncio.to_thread(summarize_brief, file.filename, file.content_type, content))
             except Exception as inner_e:
                 logging.exception(f"❌ Error while summarizing file {file.filename}: {inner_e}")
 
@@ -245,22 +293,8 @@ async def summarize_all_files(files: list[UploadFile] = File(...)):
             logging.warning("⚠️ No summaries were generated for any files.")
             return {"error": "No summaries could be generated from provided files."}
 
-        logging.info(f"🧠 Combining {len(summaries)} individual summaries...")
-        combined_prompt = (
-            "You are a concise medical assistant. Merge the following short summaries "
-            "into a single coherent paragraph (no lists, no repetition, under 100 words):\n\n"
-            + "\n".join(summaries)
-        )
-
-        combined_response = model.generate_content(combined_prompt)
-        logging.info("✅ Received combined Gemini summary.")
-        logging.debug(json.dumps(combined_response.to_dict(), indent=2, ensure_ascii=False))
-
-        combined_summary = extract_text(combined_response)
-        logging.info(f"🧾 Final combined summary: {combined_summary}")
-
         return {
-            "summary": combined_summary,
+            "summary": await asyncio.to_thread(merge_summaries, summaries),
             "all_summaries": summaries
         }
 
@@ -268,5 +302,50 @@ async def summarize_all_files(files: list[UploadFile] = File(...)):
         logging.exception("❌ Error while summarizing multiple files:")
         return {"error": str(e)}
 
+
+# =============================
+# 🧩 Fan-out building blocks
+# =============================
+@app.post("/summarize_brief/")
+async def summarize_brief_file(file: UploadFile = File(...)):
+    """
+    Key-point summary of one file. Medvault calls this once per file, concurrently,
+    and then merges the results through /merge_summaries/.
+    """
+    logging.info(f"📁 Brief summary requested for {file.filename} ({file.content_type})")
+
+    try:
+        content = await file.read()
+        if not content:
+            return {"error": f"File {file.filename} is empty."}
+
+        # generate_content blocks, so it runs on a worker thread to keep concurrent calls concurrent
+        summary = await asyncio.to_thread(summarize_brief, file.filename, file.content_type, content)
+        return {"summary": summary}
+
+    except Exception as e:
+        logging.exception(f"❌ Error while summarizing file {file.filename}:")
+        return {"error": str(e)}
+
+
+class MergeRequest(BaseModel):
+    summaries: list[str]
+
+
+@app.post("/merge_summaries/")
+async def merge_summary_texts(request: MergeRequest):
+    """
+    Merges already generated per-file summaries into a single paragraph.
+    """
+    summaries = [s.strip() for s in request.summaries if s and s.strip()]
+    if not summaries:
+        return {"error": "No summaries could be generated from provided files."}
+
+    try:
+        return {"summary": await asyncio.to_thread(merge_summaries, summaries)}
+    except Exception as e:
+        logging.exception("❌ Error while merging summaries:")
+        return {"error": str(e)}
+
 # ✅ Serve static frontend files (index.html)
 app.mount("/", StaticFiles(directory=".", html=True), name="static")